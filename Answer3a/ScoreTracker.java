@@ -1,53 +0,0 @@
-import java.util.PriorityQueue;
-
-public class ScoreTracker {
-    private PriorityQueue<Double> minHeap; // Stores the larger half of scores
-    private PriorityQueue<Double> maxHeap; // Stores the smaller half of scores
-
-    public ScoreTracker() {
-        minHeap = new PriorityQueue<>();
-        maxHeap = new PriorityQueue<>((a, b) -> Double.compare(b, a)); // Max heap comparator
-    }
-
-    public void addScore(double score) {
-        if (maxHeap.isEmpty() || score <= maxHeap.peek()) {
-            maxHeap.offer(score);
-        } else {
-            minHeap.offer(score);
-        }
-
-        // Balance the heaps
-        if (maxHeap.size() > minHeap.size() + 1) {
-            minHeap.offer(maxHeap.poll());
-        } else if (minHeap.size() > maxHeap.size()) {
-            maxHeap.offer(minHeap.poll());
-        }
-    }
-
-    public double getMedianScore() {
-        if (maxHeap.isEmpty()) {
-            throw new IllegalStateException("No scores available");
-        }
-
-        if (maxHeap.size() == minHeap.size()) {
-            return (maxHeap.peek() + minHeap.peek()) / 2.0;
-        } else {
-            return maxHeap.peek();
-        }
-    }
-
-    public static void main(String[] args) {
-        ScoreTracker scoreTracker = new ScoreTracker();
-        scoreTracker.addScore(85.5);
-        scoreTracker.addScore(92.3);
-        scoreTracker.addScore(77.8);
-        scoreTracker.addScore(90.1);
-        double median1 = scoreTracker.getMedianScore();
-        System.out.println("Median 1: " + median1); // Output: 87.8
-
-        scoreTracker.addScore(81.2);
-        scoreTracker.addScore(88.7);
-        double median2 = scoreTracker.getMedianScore();
-        System.out.println("Median 2: " + median2); // Output: 87.1
-    }
-}
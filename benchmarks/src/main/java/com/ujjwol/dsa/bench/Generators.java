@@ -0,0 +1,112 @@
+package com.ujjwol.dsa.bench;
+
+import java.util.Random;
+
+// Seeded input generators shared by the benchmarks, so every run measures the same inputs
+public final class Generators {
+
+    private Generators() {
+    }
+
+    public static int[][] costMatrix(int rows, int cols, int maxCost, long seed) {
+        Random random = new Random(seed);
+        int[][] costs = new int[rows][cols];
+        for (int[] row : costs) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = random.nextInt(maxCost);
+            }
+        }
+        return costs;
+    }
+
+    public static int[] ints(int n, int bound, long seed) {
+        return new Random(seed).ints(n, 0, bound).toArray();
+    }
+
+    public static double[] doubles(int n, double bound, long seed) {
+        return new Random(seed).doubles(n, 0, bound).toArray();
+    }
+
+    // Distinct sorted values, at most n of them
+    public static int[] sortedDistinct(int n, long seed) {
+        return new Random(seed).ints(n, 0, Integer.MAX_VALUE).sorted().distinct().toArray();
+    }
+
+    // Connected random graph: a random spanning path plus extra random edges, as {from, to, weight}
+    public static int[][] weightedGraph(int vertices, int edges, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        int[] from = new int[edges], to = new int[edges], weight = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            if (i < vertices - 1) {
+                from[i] = i;
+                to[i] = i + 1;
+            } else {
+                from[i] = random.nextInt(vertices);
+                to[i] = random.nextInt(vertices);
+            }
+            weight[i] = random.nextInt(maxWeight);
+        }
+        return new int[][]{from, to, weight};
+    }
+
+    // Square maze with roughly 20% walls, a start in the top-left corner and the given number of keys and doors
+    public static String[] maze(int size, int keys, int doors, long seed) {
+        Random random = new Random(seed);
+        char[][] cells = new char[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                cells[i][j] = random.nextInt(100) < 20 ? 'W' : 'P';
+            }
+        }
+        for (int k = 0; k < keys; k++) {
+            cells[1 + random.nextInt(size - 1)][random.nextInt(size)] = (char) ('a' + k);
+        }
+        for (int d = 0; d < doors; d++) {
+            cells[1 + random.nextInt(size - 1)][random.nextInt(size)] = (char) ('A' + d);
+        }
+        cells[0][0] = 'S';
+        String[] grid = new String[size];
+        for (int i = 0; i < size; i++) {
+            grid[i] = new String(cells[i]);
+        }
+        return grid;
+    }
+
+    // Euclidean distances between random cities in a 1000 x 1000 square
+    public static double[][] cityDistances(int cities, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[cities], y = new double[cities];
+        for (int i = 0; i < cities; i++) {
+            x[i] = random.nextDouble() * 1000;
+            y[i] = random.nextDouble() * 1000;
+        }
+        double[][] distances = new double[cities][cities];
+        for (int i = 0; i < cities; i++) {
+            for (int j = 0; j < cities; j++) {
+                distances[i][j] = Math.hypot(x[i] - x[j], y[i] - y[j]);
+            }
+        }
+        return distances;
+    }
+
+    // Layered DAG, as {from, to}: every device below the first layer has one parent in the layer above,
+    // and a second parent with probability sharedPercent / 100
+    public static int[][] layeredDag(int layers, int width, int sharedPercent, long seed) {
+        Random random = new Random(seed);
+        int max = 2 * (layers - 1) * width;
+        int[] from = new int[max], to = new int[max];
+        int e = 0;
+        for (int l = 1; l < layers; l++) {
+            for (int i = 0; i < width; i++) {
+                int node = l * width + i;
+                from[e] = (l - 1) * width + random.nextInt(width);
+                to[e++] = node;
+                if (random.nextInt(100) < sharedPercent) {
+                    from[e] = (l - 1) * width + random.nextInt(width);
+                    to[e++] = node;
+                }
+            }
+        }
+        return new int[][]{java.util.Arrays.copyOf(from, e), java.util.Arrays.copyOf(to, e)};
+    }
+}
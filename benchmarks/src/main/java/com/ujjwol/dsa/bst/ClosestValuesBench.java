@@ -0,0 +1,59 @@
+package com.ujjwol.dsa.bst;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClosestValuesBench {
+    @Param({"1000", "4000000"})
+    int size;
+
+    @Param({"4", "64"})
+    int x;
+
+    TreeNode tree;
+    EytzingerIndex eytzinger;
+    ConcurrentOrderedIndex.Snapshot treap;
+    double[] targets;
+    int next;
+
+    @Setup
+    public void setup() {
+        int[] values = Generators.sortedDistinct(size, 1);
+        tree = EytzingerIndex.balancedTree(values, 0, values.length);
+        eytzinger = EytzingerIndex.fromSorted(values);
+        ConcurrentOrderedIndex index = new ConcurrentOrderedIndex();
+        for (int value : values) {
+            index.insert(value);
+        }
+        treap = index.snapshot();
+        targets = Generators.doubles(1 << 16, Integer.MAX_VALUE, 2);
+    }
+
+    private double nextTarget() {
+        return targets[next++ & (targets.length - 1)];
+    }
+
+    // Pointer-based predecessor/successor stacks over a balanced tree
+    @Benchmark
+    public int[] pointerTree() {
+        return ClosestValuesInBST.closestValues(tree, nextTarget(), x);
+    }
+
+    @Benchmark
+    public int[] eytzinger() {
+        return eytzinger.closestValues(nextTarget(), x);
+    }
+
+    @Benchmark
+    public int[] persistentTreap() {
+        return treap.closestValues(nextTarget(), x);
+    }
+}
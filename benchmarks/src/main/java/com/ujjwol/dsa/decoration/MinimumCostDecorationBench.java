@@ -0,0 +1,48 @@
+package com.ujjwol.dsa.decoration;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MinimumCostDecorationBench {
+    @Param({"1000", "100000"})
+    int venues;
+
+    @Param({"3", "50"})
+    int themes;
+
+    int[][] costs;
+    int[][][] batch;
+
+    @Setup
+    public void setup() {
+        costs = Generators.costMatrix(venues, themes, 1000, 1);
+        batch = new int[1000][][];
+        for (int b = 0; b < batch.length; b++) {
+            batch[b] = Generators.costMatrix(100, themes, 1000, 2 + b);
+        }
+    }
+
+    @Benchmark
+    public int minCost() {
+        return MinimumCostDecoration.minCostToDecorate(costs);
+    }
+
+    @Benchmark
+    public int[] cheapestThemes() {
+        return MinimumCostDecoration.cheapestThemes(costs);
+    }
+
+    // 1000 matrices of 100 venues each
+    @Benchmark
+    public int[] batch() {
+        return MinimumCostDecoration.minCostToDecorate(batch);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ujjwol.dsa.dresses;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EqualizeDressesBench {
+    @Param({"1000000", "50000000"})
+    int machines;
+
+    int[] counts;
+    Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        counts = Generators.ints(machines, 100_000, 1);
+        long total = 0;
+        for (int dresses : counts) total += dresses;
+        counts[machines - 1] -= (int) (total % machines); // A divisible total, so the full answer is computed
+        file = Files.createTempFile("machines", ".bin");
+        EqualizeDresses.writeMachines(file, counts);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long inMemory() {
+        return EqualizeDresses.MinMovesEqualizeDresses(counts);
+    }
+
+    @Benchmark
+    public long mappedFile() throws IOException {
+        return EqualizeDresses.MinMovesEqualizeDresses(file);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ujjwol.dsa.engines;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EngineBuildBench {
+    @Param({"100000", "10000000"})
+    int engines;
+
+    int[] times;
+
+    @Setup
+    public void setup() {
+        times = Generators.ints(engines, 1_000_000_000, 1);
+    }
+
+    @Benchmark
+    public long twoQueueMerge() {
+        return EngineBuild.minBuildTime(times, 7);
+    }
+
+    // The original PriorityQueue version, for comparison
+    @Benchmark
+    public long heap() {
+        return EngineBuildBenchmark.heapMinBuildTime(times, 7);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ujjwol.dsa.maze;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MazeGameBench {
+    @Param({"100", "1000"})
+    int size;
+
+    @Param({"2", "6"})
+    int keys;
+
+    String[] grid;
+    MazeGrid mazeGrid;
+
+    @Setup
+    public void setup() {
+        grid = Generators.maze(size, keys, keys / 2, 1);
+        mazeGrid = MazeGrid.of(grid);
+    }
+
+    @Benchmark
+    public int stateBfs() {
+        return MazeGame.minStepsToCollectAllKeys(grid);
+    }
+
+    @Benchmark
+    public int keyGraph() {
+        return KeyGraphMaze.minStepsToCollectAllKeys(grid);
+    }
+
+    @Benchmark
+    public int parallelBfs() {
+        return ParallelMazeSearch.minSteps(mazeGrid);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ujjwol.dsa.mst;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KruskalMSTBench {
+    @Param({"10000", "1000000"})
+    int vertices;
+
+    // Average edges per vertex
+    @Param({"4", "32"})
+    int density;
+
+    KruskalMST graph;
+
+    @Setup
+    public void setup() {
+        int[][] edges = Generators.weightedGraph(vertices, vertices * density, 1_000_000, 1);
+        graph = new KruskalMST(vertices, edges[0].length);
+        graph.addEdges(edges[0], edges[1], edges[2]);
+    }
+
+    @Benchmark
+    public List<Edge> kruskal() {
+        return graph.findMST();
+    }
+
+    @Benchmark
+    public List<Edge> filterKruskal() {
+        return ParallelMST.findMST(graph, ParallelMST.Strategy.FILTER_KRUSKAL);
+    }
+
+    @Benchmark
+    public List<Edge> boruvka() {
+        return ParallelMST.findMST(graph, ParallelMST.Strategy.BORUVKA);
+    }
+}
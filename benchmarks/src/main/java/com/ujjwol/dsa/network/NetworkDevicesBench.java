@@ -0,0 +1,72 @@
+package com.ujjwol.dsa.network;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetworkDevicesBench {
+    @Param({"100", "1000"})
+    int layers;
+
+    // Percentage of devices with a second parent
+    @Param({"10", "90"})
+    int shared;
+
+    int width = 100;
+    int[] from;
+    int[] to;
+    int[][] edges;
+    DeviceGraph graph;
+    TopologyIndex index;
+    int[] targets;
+    int next;
+
+    @Setup
+    public void setup() {
+        int[][] dag = Generators.layeredDag(layers, width, shared, 1);
+        from = dag[0];
+        to = dag[1];
+        edges = new int[from.length][];
+        for (int i = 0; i < from.length; i++) {
+            edges[i] = new int[]{from[i], to[i]};
+        }
+        graph = new DeviceGraph(from, to);
+        index = TopologyIndex.fromEdges(edges);
+        targets = Generators.ints(1024, width, 2);
+    }
+
+    @Benchmark
+    public DeviceGraph buildGraph() {
+        return new DeviceGraph(from, to);
+    }
+
+    @Benchmark
+    public int[] query() {
+        return graph.soleParentDescendants(targets[next++ & 1023]);
+    }
+
+    // Original entry point: builds the graph for every call
+    @Benchmark
+    public List<Integer> buildAndQuery() {
+        return NetworkDevices.findNodesWithOnlyTargetAsParent(edges, targets[next++ & 1023]);
+    }
+
+    // Add a link, read the affected parent, remove the link again
+    @Benchmark
+    public int[] liveUpdate() {
+        int parent = targets[next++ & 1023];
+        int child = width + targets[next & 1023];
+        index.addEdge(parent, child);
+        int[] children = index.soleChildren(parent);
+        index.removeEdge(parent, child);
+        return children;
+    }
+}
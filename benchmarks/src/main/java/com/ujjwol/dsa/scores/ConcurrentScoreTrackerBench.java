@@ -0,0 +1,53 @@
+package com.ujjwol.dsa.scores;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Many producers on one tracker; run with -t 1, 2, 4, ... to see how ingestion scales (JMH defaults to 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentScoreTrackerBench {
+    ConcurrentScoreTracker sharded;
+    ScoreTracker locked;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        sharded = ConcurrentScoreTracker.approximate(0.01, 50, TimeUnit.MILLISECONDS);
+        locked = ScoreTracker.approximate(0.01);
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+        double[] scores;
+        int next;
+
+        @Setup
+        public void setup() {
+            scores = Generators.doubles(1 << 16, 100, Thread.currentThread().getId());
+        }
+
+        double nextScore() {
+            return scores[next++ & (scores.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public void sharded(Producer producer) {
+        sharded.addScore(producer.nextScore());
+    }
+
+    // One ScoreTracker behind a global lock, for comparison
+    @Benchmark
+    public void globalLock(Producer producer) {
+        double score = producer.nextScore();
+        synchronized (locked) {
+            locked.addScore(score);
+        }
+    }
+}
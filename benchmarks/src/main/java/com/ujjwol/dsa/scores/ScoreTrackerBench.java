@@ -0,0 +1,54 @@
+package com.ujjwol.dsa.scores;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreTrackerBench {
+    @Param({"exact", "window", "approximate"})
+    String mode;
+
+    // Scores already added before measuring
+    @Param({"10000", "1000000"})
+    int preload;
+
+    double[] scores;
+    ScoreTracker tracker;
+    int next;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        scores = Generators.doubles(1 << 20, 100, 1);
+        switch (mode) {
+            case "exact": tracker = new ScoreTracker(); break;
+            case "window": tracker = ScoreTracker.lastScores(preload); break;
+            default: tracker = ScoreTracker.approximate(0.01); break;
+        }
+        for (int i = 0; i < preload; i++) {
+            tracker.addScore(scores[i & (scores.length - 1)]);
+        }
+        next = preload;
+    }
+
+    @Benchmark
+    public void addScore() {
+        tracker.addScore(scores[next++ & (scores.length - 1)]);
+    }
+
+    @Benchmark
+    public double median() {
+        return tracker.getMedianScore();
+    }
+
+    @Benchmark
+    public double p99() {
+        return tracker.getPercentile(99);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ujjwol.dsa.secrets;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecretSharingBench {
+    @Param({"10000", "1000000"})
+    int intervals;
+
+    @Param({"10", "100000"})
+    int maxWidth;
+
+    int people = 1_000_000_000;
+    int[] starts;
+    int[] ends;
+    int[][] small;
+
+    @Setup
+    public void setup() {
+        starts = Generators.ints(intervals, people, 1);
+        int[] widths = Generators.ints(intervals, maxWidth, 2);
+        ends = new int[intervals];
+        for (int i = 0; i < intervals; i++) {
+            ends[i] = (int) Math.min((long) starts[i] + widths[i], people - 1);
+        }
+        // The list API expands every recipient, so it runs on a small population
+        small = new int[1000][];
+        int[] smallStarts = Generators.ints(small.length, 100_000, 3);
+        for (int i = 0; i < small.length; i++) {
+            small[i] = new int[]{smallStarts[i], smallStarts[i] + 50};
+        }
+    }
+
+    @Benchmark
+    public SecretSharing.RecipientRanges ranges() {
+        return SecretSharing.findSecretRanges(people, starts, ends, 0);
+    }
+
+    @Benchmark
+    public List<Integer> expandedList() {
+        return SecretSharing.findSecretRecipients(100_000, small, 0);
+    }
+}
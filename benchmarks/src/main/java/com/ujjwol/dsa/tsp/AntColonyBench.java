@@ -0,0 +1,32 @@
+package com.ujjwol.dsa.tsp;
+
+import com.ujjwol.dsa.bench.Generators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AntColonyBench {
+    @Param({"50", "200"})
+    int cities;
+
+    double[][] distances;
+
+    @Setup
+    public void setup() {
+        distances = Generators.cityDistances(cities, 1);
+    }
+
+    // One full solve: 20 ants for 20 iterations with a fixed seed
+    @Benchmark
+    public int[] solve() {
+        AntColonyOptimization aco = new AntColonyOptimization(cities, distances, 20, 1.0, 2.0, 0.1, 1.0, 20);
+        aco.setSeed(42);
+        return aco.solveTSP();
+    }
+}
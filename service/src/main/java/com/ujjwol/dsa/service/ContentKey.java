@@ -0,0 +1,50 @@
+package com.ujjwol.dsa.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+// SHA-256 of a request's endpoint, query and body; equal keys mean byte-identical requests
+final class ContentKey {
+    private final byte[] digest;
+    private final int hash;
+
+    private ContentKey(byte[] digest) {
+        this.digest = digest;
+        // The digest is already uniformly distributed, so its first bytes make a good hash code
+        this.hash = (digest[0] & 0xFF) << 24 | (digest[1] & 0xFF) << 16 | (digest[2] & 0xFF) << 8 | (digest[3] & 0xFF);
+    }
+
+    static ContentKey of(String endpoint, String query, byte[] body) {
+        return of(endpoint, query, body, 0, body.length);
+    }
+
+    // Key over part of a body, for solvers that share work between requests with equal parts
+    static ContentKey of(String endpoint, String query, byte[] body, int offset, int length) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every JVM", e);
+        }
+        sha.update(endpoint.getBytes(StandardCharsets.UTF_8));
+        sha.update((byte) '?');
+        if (query != null) {
+            sha.update(query.getBytes(StandardCharsets.UTF_8));
+        }
+        sha.update((byte) 0);
+        sha.update(body, offset, length);
+        return new ContentKey(sha.digest());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ContentKey && Arrays.equals(digest, ((ContentKey) other).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
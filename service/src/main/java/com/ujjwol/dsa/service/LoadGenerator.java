@@ -0,0 +1,116 @@
+package com.ujjwol.dsa.service;
+
+import com.ujjwol.dsa.metrics.Histogram;
+import com.ujjwol.dsa.metrics.MetricsRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop load generator for SolverService: each client thread sends one request, waits for the
+// answer and sends the next. Bodies are drawn from a fixed set of distinct payloads, so the set size
+// controls the cache hit rate (1 = every request after the first is a hit, large = mostly misses).
+//
+//   LoadGenerator [--url=http://host:port] [--endpoint=closest] [--clients=16] [--seconds=10]
+//                 [--warmup=3] [--distinct=64] [--size=1000]
+//
+// Without --url an embedded service is started on a free port; like SolverService it needs
+// -Dsun.net.httpserver.nodelay=true on the command line. Latency is measured from send to
+// the last byte of the answer and reported after the warm-up is discarded.
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String endpoint = options.getOrDefault("endpoint", "closest");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "16"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "10"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        int distinct = Integer.parseInt(options.getOrDefault("distinct", "64"));
+        int size = Integer.parseInt(options.getOrDefault("size", "1000"));
+
+        SolverService embedded = null;
+        String url = options.get("url");
+        if (url == null) {
+            SolverService.checkNoDelay();
+            embedded = new SolverService(0).start();
+            url = "http://localhost:" + embedded.port();
+        }
+
+        byte[][] bodies = new byte[distinct][];
+        for (int i = 0; i < distinct; i++) {
+            bodies[i] = SolverRequests.sample(endpoint, size, i);
+        }
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI target = URI.create(url + "/" + endpoint);
+
+        System.out.println("Warming up " + endpoint + " for " + warmup + " s with " + clients + " clients");
+        run(client, target, bodies, clients, warmup, null, new LongAdder());
+
+        Histogram latency = MetricsRegistry.histogram("load." + endpoint + ".nanos");
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        run(client, target, bodies, clients, seconds, latency, errors);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s: %d clients, %d distinct bodies of size %d%n", endpoint, clients, distinct, size);
+        System.out.printf("  %d requests in %.1f s = %.0f req/s, %d errors%n",
+                latency.count(), elapsed, latency.count() / elapsed, errors.sum());
+        System.out.printf("  latency us: mean %.1f, p50 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                latency.mean() / 1e3, latency.quantile(0.5) / 1e3, latency.quantile(0.99) / 1e3,
+                latency.quantile(0.999) / 1e3, latency.max() / 1e3);
+
+        HttpResponse<String> stats = client.send(HttpRequest.newBuilder(URI.create(url + "/stats")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        System.out.print(stats.body());
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    // Runs every client for the given time; latency may be null to discard the measurements
+    private static void run(HttpClient client, URI target, byte[][] bodies, int clients, int seconds,
+                            Histogram latency, LongAdder errors) throws InterruptedException {
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        Thread[] threads = new Thread[clients];
+        for (int c = 0; c < clients; c++) {
+            threads[c] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    HttpRequest request = HttpRequest.newBuilder(target)
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(bodies[random.nextInt(bodies.length)]))
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                        continue;
+                    }
+                    if (latency != null) {
+                        latency.record(System.nanoTime() - sent);
+                    }
+                }
+            }, "load-client-" + c);
+            threads[c].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
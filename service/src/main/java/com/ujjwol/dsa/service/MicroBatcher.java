@@ -0,0 +1,227 @@
+package com.ujjwol.dsa.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Groups the concurrent requests for one solver into batches that share work.
+// A single dispatcher thread takes whatever is queued (up to maxBatch), waits at most maxDelay for more,
+// then groups the batch by the solver's share key: every group runs as one pool task that prepares the
+// shared input once (an index over the same values, a matrix over the same cities) and answers each of
+// its requests from it. The dispatcher does not wait for the groups and goes straight back to the queue.
+// Requests identical to one that is still being solved, in this batch or an earlier one, attach to its
+// future instead of solving it again; the in-flight entry goes away once the answer is there.
+final class MicroBatcher implements AutoCloseable {
+    // prepare runs once per group of requests with equal share keys, solve once per distinct request
+    interface Solver<S> {
+        ContentKey shareKey(Request request);
+
+        S prepare(Request request) throws Exception;
+
+        byte[] solve(S prepared, Request request) throws Exception;
+
+        // For solvers whose requests have nothing to share beyond being identical
+        static Solver<Void> single(Single solver) {
+            return new Solver<>() {
+                @Override
+                public ContentKey shareKey(Request request) {
+                    return request.key;
+                }
+
+                @Override
+                public Void prepare(Request request) {
+                    return null;
+                }
+
+                @Override
+                public byte[] solve(Void prepared, Request request) throws Exception {
+                    return solver.solve(request);
+                }
+            };
+        }
+    }
+
+    interface Single {
+        byte[] solve(Request request) throws Exception;
+    }
+
+    private static final class Pending {
+        final Request request;
+        final ContentKey shareKey;
+        final CompletableFuture<byte[]> answer = new CompletableFuture<>();
+
+        Pending(Request request, ContentKey shareKey) {
+            this.request = request;
+            this.shareKey = shareKey;
+        }
+    }
+
+    private final Solver<?> solver;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final ForkJoinPool pool;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    // Only the dispatcher adds entries, so a key maps to at most one running solve
+    private final Map<ContentKey, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder solved = new LongAdder();
+    private final LongAdder prepared = new LongAdder();
+
+    MicroBatcher(String name, Solver<?> solver, int maxBatch, long maxDelay, TimeUnit unit, ForkJoinPool pool) {
+        if (maxBatch < 1 || maxDelay < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and delay not negative");
+        }
+        this.solver = solver;
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.pool = pool;
+        this.dispatcher = new Thread(this::dispatch, "batcher-" + name);
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    CompletableFuture<byte[]> submit(Request request) {
+        CompletableFuture<byte[]> running = inFlight.get(request.key);
+        if (running != null) {
+            requests.increment();
+            return running;
+        }
+        ContentKey shareKey;
+        try {
+            // Hashed on the calling thread, like the request key, so the dispatcher only moves references
+            shareKey = solver.shareKey(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Pending pending = new Pending(request, shareKey);
+        queue.add(pending);
+        // Lost the race with close: the dispatcher may already have drained the queue for the last time
+        if (closed && queue.remove(pending)) {
+            pending.answer.completeExceptionally(new RejectedExecutionException("Solver service is closed"));
+        }
+        return pending.answer;
+    }
+
+    private void dispatch() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - batch.size());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    long wait = deadline - System.nanoTime();
+                    Pending next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            solve(batch);
+            batch.clear();
+        }
+        // Whatever was taken or queued when the service closed fails instead of hanging its caller
+        queue.drainTo(batch);
+        RejectedExecutionException rejected = new RejectedExecutionException("Solver service is closed");
+        batch.forEach(pending -> pending.answer.completeExceptionally(rejected));
+    }
+
+    private void solve(List<Pending> batch) {
+        batches.increment();
+        requests.add(batch.size());
+        Map<ContentKey, List<Pending>> groups = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            CompletableFuture<byte[]> running = inFlight.get(pending.request.key);
+            if (running != null) {
+                running.whenComplete((answer, error) -> {
+                    if (error == null) {
+                        pending.answer.complete(answer);
+                    } else {
+                        pending.answer.completeExceptionally(error);
+                    }
+                });
+                continue;
+            }
+            inFlight.put(pending.request.key, pending.answer);
+            groups.computeIfAbsent(pending.shareKey, key -> new ArrayList<>(1)).add(pending);
+        }
+        for (List<Pending> group : groups.values()) {
+            try {
+                // Solvers that use parallel streams themselves run inside the same pool
+                pool.execute(() -> solveGroup(solver, group));
+            } catch (RejectedExecutionException e) {
+                group.forEach(pending -> finish(pending, null, e));
+            }
+        }
+    }
+
+    private <S> void solveGroup(Solver<S> solver, List<Pending> group) {
+        S shared;
+        try {
+            shared = solver.prepare(group.get(0).request);
+        } catch (Throwable e) {
+            // Every request of the group carries the same shared input, so they all fail alike
+            group.forEach(pending -> finish(pending, null, e));
+            return;
+        }
+        prepared.increment();
+        for (Pending pending : group) {
+            solved.increment();
+            try {
+                finish(pending, solver.solve(shared, pending.request), null);
+            } catch (Throwable e) {
+                finish(pending, null, e);
+            }
+        }
+    }
+
+    private void finish(Pending pending, byte[] answer, Throwable error) {
+        if (error == null) {
+            pending.answer.complete(answer);
+        } else {
+            pending.answer.completeExceptionally(error);
+        }
+        inFlight.remove(pending.request.key, pending.answer);
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    // Solver runs after merging identical requests with the ones in flight
+    long solved() {
+        return solved.sum();
+    }
+
+    // Shared inputs prepared; below solved when requests in a batch share work
+    long prepared() {
+        return prepared.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ujjwol.dsa.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+// One request as the solvers see it: the raw little-endian body plus the parsed query string
+final class Request {
+    final String endpoint;
+    final Map<String, String> query = new HashMap<>();
+    final byte[] body;
+    final ContentKey key;
+
+    Request(String endpoint, String rawQuery, byte[] body) {
+        this.endpoint = endpoint;
+        this.body = body;
+        this.key = ContentKey.of(endpoint, rawQuery, body);
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    query.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+    }
+
+    ByteBuffer body() {
+        return ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    int intParameter(String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Query parameter " + name + " is not an integer: " + value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ujjwol.dsa.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Solver answers keyed by request content, bounded by the bytes they hold.
+// An access-ordered LinkedHashMap under one lock: a hit only relinks the entry, and once the total
+// passes maxBytes the least recently used answers are dropped until it fits again.
+final class ResultCache {
+    // Rough per-entry cost of the key, map entry and array headers on top of the answer itself
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+    private final LinkedHashMap<ContentKey, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResultCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    byte[] get(ContentKey key) {
+        byte[] value;
+        synchronized (this) {
+            value = entries.get(key);
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    // Answers larger than the whole cache are not stored
+    void put(ContentKey key, byte[] value) {
+        long size = cost(value);
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            byte[] previous = entries.put(key, value);
+            bytes += size - (previous == null ? 0 : cost(previous));
+            Iterator<Map.Entry<ContentKey, byte[]>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes) {
+                bytes -= cost(eldest.next().getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static long cost(byte[] value) {
+        return value.length + ENTRY_OVERHEAD;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ujjwol.dsa.service;
+
+import com.ujjwol.dsa.io.DsaGenerators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Client-side encoders for the SolverService request bodies. Graph, maze and TSP bodies are plain DSAB
+// images, so any file from DsaWriter, DsaGenerators or the loaders' toBinary can be posted as it is.
+public final class SolverRequests {
+    private SolverRequests() {
+    }
+
+    public static byte[] closest(int[] values, int k, double[] targets) {
+        ByteBuffer out = ByteBuffer.allocate(12 + 4 * values.length + 8 * targets.length).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(values.length);
+        for (int value : values) {
+            out.putInt(value);
+        }
+        out.putInt(k).putInt(targets.length);
+        for (double target : targets) {
+            out.putDouble(target);
+        }
+        return out.array();
+    }
+
+    public static byte[] quantile(double[] scores, double[] percentiles) {
+        ByteBuffer out = ByteBuffer.allocate(8 + 8 * scores.length + 8 * percentiles.length).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(scores.length);
+        for (double score : scores) {
+            out.putDouble(score);
+        }
+        out.putInt(percentiles.length);
+        for (double percentile : percentiles) {
+            out.putDouble(percentile);
+        }
+        return out.array();
+    }
+
+    public static byte[] dsab(Path file) throws IOException {
+        return Files.readAllBytes(file);
+    }
+
+    // Random request body for an endpoint; size is vertices, values, scores, maze side or cities.
+    // The same arguments always give byte-identical bodies, which is what the load generator's
+    // cache-hit experiments rely on.
+    public static byte[] sample(String endpoint, int size, long seed) throws IOException {
+        Random random = new Random(seed);
+        switch (endpoint) {
+            case "closest": {
+                int[] values = random.ints(size, 0, 10 * size).toArray();
+                double[] targets = random.doubles(16, 0, 10 * size).toArray();
+                return closest(values, 5, targets);
+            }
+            case "quantile":
+                return quantile(random.doubles(size).toArray(), new double[]{50, 99, 99.9});
+            case "mst":
+            case "maze":
+            case "tsp": {
+                Path file = Files.createTempFile("request", ".dsab");
+                try {
+                    if (endpoint.equals("mst")) {
+                        DsaGenerators.randomGraph(file, size, 4L * size, 1000, seed);
+                    } else if (endpoint.equals("maze")) {
+                        DsaGenerators.randomMaze(file, size, size, 20, 3, 2, seed);
+                    } else {
+                        DsaGenerators.randomPoints(file, size, seed);
+                    }
+                    return Files.readAllBytes(file);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+            default:
+                throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.ujjwol.dsa.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.ujjwol.dsa.bst.EytzingerIndex;
+import com.ujjwol.dsa.io.DsaFile;
+import com.ujjwol.dsa.maze.MazeGame;
+import com.ujjwol.dsa.metrics.Histogram;
+import com.ujjwol.dsa.metrics.MetricsRegistry;
+import com.ujjwol.dsa.mst.KruskalMST;
+import com.ujjwol.dsa.scores.ScoreTracker;
+import com.ujjwol.dsa.tsp.AntColonyOptimization;
+import com.ujjwol.dsa.tsp.TSPLibLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Embeddable solver service on the JDK's built-in HTTP server, so callers share one warmed-up JVM
+// instead of copying the algorithms in. Every endpoint takes a POST with a little-endian binary body:
+//   /mst       DSAB graph with weights -> long total weight, int edge count, then (int from, int to, int weight)*
+//   /closest   int n, int[n] values, int k, int q, double[q] targets -> int[q * min(k, n)], nearest first
+//   /quantile  int n, double[n] scores, int q, double[q] percentiles in 0..100
+//              -> double median, then the nearest-rank percentiles
+//   /maze      DSAB grid -> int steps to collect every key, -1 when that is impossible
+//   /tsp       DSAB points or complete weighted graph, query ants, iterations and seed
+//              -> double tour length, int n, int[n] tour
+// Besides the body size, /mst takes up to MAX_MST_VERTICES vertices, /maze up to MAX_MAZE_CELLS cells and
+// /tsp up to MAX_TSP_CITIES cities, MAX_TSP_ANTS ants and MAX_TSP_ITERATIONS iterations; larger requests
+// get 400 before any solver state exists.
+// DSAB bodies are the files DsaWriter writes, so curl --data-binary @graph.dsab works as is.
+// Requests to one endpoint are micro-batched (MicroBatcher) and answers are cached by content (ResultCache).
+// Within a batch, /closest requests over the same values share one index, /quantile requests over the same
+// scores one tracker, and /tsp requests over the same cities one distance matrix.
+// GET /stats reports cache and batching counters as text.
+// Launch with -Dsun.net.httpserver.nodelay=true (service/pom.xml sets it for exec:java). The server writes
+// headers and body separately; with Nagle on, small answers wait for the client's delayed ACK and every
+// request takes ~40 ms. The JDK reads the flag once, when the first server starts, so it is not set here.
+public class SolverService implements AutoCloseable {
+    static final int MAX_BODY_BYTES = 256 << 20;
+    // Header counts are not backed by the body (isolated vertices, an n x n matrix built from n points),
+    // so they get their own limits, checked before anything is sized from them
+    static final int MAX_MST_VERTICES = 1 << 22;
+    static final int MAX_MAZE_CELLS = 1 << 22;
+    static final int MAX_TSP_CITIES = 2000;
+    static final int MAX_TSP_ANTS = 1000;
+    static final int MAX_TSP_ITERATIONS = 10_000;
+
+    private final HttpServer server;
+    private final ExecutorService httpThreads;
+    private final ForkJoinPool solverPool;
+    private final ResultCache cache;
+    private final Map<String, MicroBatcher> batchers = new LinkedHashMap<>();
+
+    public SolverService(int port, long cacheBytes, int maxBatch, long maxDelay, TimeUnit unit) throws IOException {
+        cache = new ResultCache(cacheBytes);
+        solverPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        httpThreads = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(httpThreads);
+
+        endpoint("mst", MicroBatcher.Solver.single(SolverService::mst), maxBatch, maxDelay, unit);
+        endpoint("closest", new Closest(), maxBatch, maxDelay, unit);
+        endpoint("quantile", new Quantile(), maxBatch, maxDelay, unit);
+        endpoint("maze", MicroBatcher.Solver.single(SolverService::maze), maxBatch, maxDelay, unit);
+        endpoint("tsp", new Tsp(), maxBatch, maxDelay, unit);
+        server.createContext("/stats", exchange -> {
+            exchange.getRequestBody().close();
+            send(exchange, 200, "text/plain", stats().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    // Defaults: 64 MB of cached answers, batches of up to 64 requests collected for at most 200 us
+    public SolverService(int port) throws IOException {
+        this(port, 64L << 20, 64, 200, TimeUnit.MICROSECONDS);
+    }
+
+    private void endpoint(String name, MicroBatcher.Solver<?> solver, int maxBatch, long maxDelay, TimeUnit unit) {
+        MicroBatcher batcher = new MicroBatcher(name, solver, maxBatch, maxDelay, unit, solverPool);
+        batchers.put(name, batcher);
+        Histogram latency = MetricsRegistry.histogram("service." + name + ".nanos");
+        server.createContext("/" + name, exchange -> handle(exchange, name, batcher, latency));
+    }
+
+    public SolverService start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        batchers.values().forEach(MicroBatcher::close);
+        httpThreads.shutdown();
+        solverPool.shutdown();
+    }
+
+    private void handle(HttpExchange exchange, String name, MicroBatcher batcher, Histogram latency)
+            throws IOException {
+        long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getRequestBody().close();
+            exchange.getResponseHeaders().set("Allow", "POST");
+            sendError(exchange, 405, "Use POST");
+            return;
+        }
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_BODY_BYTES) {
+            sendError(exchange, 413, "Body larger than " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+
+        Request request = new Request(name, exchange.getRequestURI().getRawQuery(), body);
+        byte[] cached = cache.get(request.key);
+        if (cached != null) {
+            send(exchange, 200, "application/octet-stream", cached);
+            if (MetricsRegistry.ENABLED) {
+                latency.record(System.nanoTime() - start);
+            }
+            return;
+        }
+        // Answers are written from the HTTP threads, never from the solver pool
+        batcher.submit(request).whenCompleteAsync((answer, error) -> {
+            try {
+                if (error == null) {
+                    cache.put(request.key, answer);
+                    send(exchange, 200, "application/octet-stream", answer);
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    String message = cause.getMessage() != null ? cause.getMessage() : "malformed request body";
+                    sendError(exchange, isBadRequest(cause) ? 400 : 500,
+                            cause.getClass().getSimpleName() + ": " + message);
+                }
+            } catch (IOException e) {
+                // Client went away; nothing left to tell it
+                exchange.close();
+            }
+            if (MetricsRegistry.ENABLED) {
+                latency.record(System.nanoTime() - start);
+            }
+        }, httpThreads);
+    }
+
+    // Malformed bodies surface as one of these while decoding
+    private static boolean isBadRequest(Throwable error) {
+        return error instanceof IOException || error instanceof IllegalArgumentException
+                || error instanceof IllegalStateException || error instanceof BufferUnderflowException
+                || error instanceof IndexOutOfBoundsException || error instanceof ArithmeticException;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "text/plain", (message + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String stats() {
+        StringBuilder out = new StringBuilder();
+        out.append("cache.entries ").append(cache.size()).append('\n');
+        out.append("cache.bytes ").append(cache.bytes()).append('\n');
+        out.append("cache.hits ").append(cache.hits()).append('\n');
+        out.append("cache.misses ").append(cache.misses()).append('\n');
+        out.append("cache.evictions ").append(cache.evictions()).append('\n');
+        batchers.forEach((name, batcher) -> {
+            out.append(name).append(".batches ").append(batcher.batches()).append('\n');
+            out.append(name).append(".requests ").append(batcher.requests()).append('\n');
+            out.append(name).append(".solved ").append(batcher.solved()).append('\n');
+            out.append(name).append(".prepared ").append(batcher.prepared()).append('\n');
+        });
+        return out.toString();
+    }
+
+    // Solvers, one per endpoint
+
+    static byte[] mst(Request request) throws IOException {
+        DsaFile file = DsaFile.wrap(request.body());
+        limit("vertices", file.vertexCount(), MAX_MST_VERTICES);
+        int[] tree = KruskalMST.load(file).findMSTEdgeIndices();
+        // Edges are read back from the request body itself
+        IntBuffer from = file.from(), to = file.to(), weight = file.weights();
+        long total = 0;
+        for (int edge : tree) {
+            total += weight.get(edge);
+        }
+        ByteBuffer out = allocate(12 + 12L * tree.length);
+        out.putLong(total).putInt(tree.length);
+        for (int edge : tree) {
+            out.putInt(from.get(edge)).putInt(to.get(edge)).putInt(weight.get(edge));
+        }
+        return out.array();
+    }
+
+    // The values prefix (int n, int[n]) is the shared part; k and the targets are per request
+    static final class Closest implements MicroBatcher.Solver<EytzingerIndex> {
+        @Override
+        public ContentKey shareKey(Request request) {
+            int n = count(request.body(), 4);
+            return ContentKey.of("closest", null, request.body, 0, 4 + 4 * n);
+        }
+
+        @Override
+        public EytzingerIndex prepare(Request request) {
+            ByteBuffer in = request.body();
+            int[] values = new int[count(in, 4)];
+            in.asIntBuffer().get(values);
+            Arrays.sort(values);
+            return EytzingerIndex.fromSorted(values);
+        }
+
+        @Override
+        public byte[] solve(EytzingerIndex index, Request request) {
+            ByteBuffer in = request.body();
+            in.position(4 + 4 * index.size());
+            int k = in.getInt();
+            if (k < 0) {
+                throw new IllegalArgumentException("k must not be negative: " + k);
+            }
+            double[] targets = new double[count(in, 8)];
+            in.asDoubleBuffer().get(targets);
+
+            int[][] answers = index.closestValues(targets, k);
+            int perTarget = Math.min(k, index.size());
+            ByteBuffer out = allocate(4L * perTarget * targets.length);
+            for (int[] answer : answers) {
+                for (int value : answer) {
+                    out.putInt(value);
+                }
+            }
+            return out.array();
+        }
+    }
+
+    // The scores prefix (int n, double[n]) is the shared part; the percentiles are per request
+    static final class Quantile implements MicroBatcher.Solver<ScoreTracker> {
+        @Override
+        public ContentKey shareKey(Request request) {
+            int n = count(request.body(), 8);
+            return ContentKey.of("quantile", null, request.body, 0, 4 + 8 * n);
+        }
+
+        @Override
+        public ScoreTracker prepare(Request request) {
+            ByteBuffer in = request.body();
+            double[] scores = new double[count(in, 8)];
+            in.asDoubleBuffer().get(scores);
+            ScoreTracker tracker = new ScoreTracker();
+            for (double score : scores) {
+                tracker.addScore(score);
+            }
+            return tracker;
+        }
+
+        @Override
+        public byte[] solve(ScoreTracker tracker, Request request) {
+            ByteBuffer in = request.body();
+            in.position(4 + 8 * in.getInt(0));
+            double[] percentiles = new double[count(in, 8)];
+            in.asDoubleBuffer().get(percentiles);
+
+            ByteBuffer out = allocate(8 + 8L * percentiles.length);
+            out.putDouble(tracker.getMedianScore());
+            for (double percentile : percentiles) {
+                out.putDouble(tracker.getPercentile(percentile));
+            }
+            return out.array();
+        }
+    }
+
+    static byte[] maze(Request request) throws IOException {
+        DsaFile file = DsaFile.wrap(request.body());
+        if (file.rows() == 0 || file.cols() == 0) {
+            throw new IllegalArgumentException("Maze has no cells");
+        }
+        // The search keeps a long of visited key sets per cell plus its queue
+        limit("cells", (long) file.rows() * file.cols(), MAX_MAZE_CELLS);
+        return allocate(4).putInt(MazeGame.minStepsToCollectAllKeys(file.grid(), file.rows(), file.cols())).array();
+    }
+
+    // The cities (the whole body) are shared; ants, iterations and seed come from the query.
+    // Seeded, so equal requests get equal tours and caching them is sound
+    static final class Tsp implements MicroBatcher.Solver<double[][]> {
+        @Override
+        public ContentKey shareKey(Request request) {
+            return ContentKey.of("tsp", null, request.body);
+        }
+
+        @Override
+        public double[][] prepare(Request request) throws IOException {
+            DsaFile file = DsaFile.wrap(request.body());
+            limit("cities", file.vertexCount(), MAX_TSP_CITIES);
+            if (file.vertexCount() < 2) {
+                throw new IllegalArgumentException("Need at least two cities");
+            }
+            // Explicit matrices are checked to be complete graphs over n cities before they are built
+            return TSPLibLoader.distanceMatrix(file);
+        }
+
+        @Override
+        public byte[] solve(double[][] distances, Request request) {
+            int n = distances.length;
+            int ants = request.intParameter("ants", Math.min(n, 20));
+            int iterations = request.intParameter("iterations", 100);
+            if (ants < 1 || iterations < 1) {
+                throw new IllegalArgumentException("ants and iterations must be positive");
+            }
+            limit("ants", ants, MAX_TSP_ANTS);
+            limit("iterations", iterations, MAX_TSP_ITERATIONS);
+            // The matrix is only read, so every request of the group can use it
+            AntColonyOptimization aco = new AntColonyOptimization(n, distances, ants, 1.0, 2.0, 0.1, 1.0, iterations);
+            aco.setSeed(request.intParameter("seed", 42));
+            int[] tour = aco.solveTSP();
+            ByteBuffer out = allocate(12 + 4L * n);
+            out.putDouble(aco.calculateTourLength(tour)).putInt(n);
+            for (int city : tour) {
+                out.putInt(city);
+            }
+            return out.array();
+        }
+    }
+
+    // Element count prefix, checked against what is left so a bad count cannot allocate gigabytes
+    private static int count(ByteBuffer in, int width) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining() / width) {
+            throw new IllegalArgumentException("Count " + count + " does not fit the remaining "
+                    + in.remaining() + " bytes");
+        }
+        return count;
+    }
+
+    private static void limit(String name, long value, int max) {
+        if (value > max) {
+            throw new IllegalArgumentException("Too many " + name + ": " + value + ", this service accepts up to " + max);
+        }
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Answer too large: " + bytes + " bytes");
+        }
+        return ByteBuffer.allocate((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static void checkNoDelay() {
+        if (!Boolean.getBoolean("sun.net.httpserver.nodelay")) {
+            System.err.println("Warning: -Dsun.net.httpserver.nodelay=true is not set, expect ~40 ms per request");
+        }
+    }
+
+    // Starts the service (port from the first argument, default 8080) and, with --demo, calls every endpoint once.
+    // Run it as java -Dsun.net.httpserver.nodelay=true com.ujjwol.dsa.service.SolverService [port] [--demo]
+    public static void main(String[] args) throws Exception {
+        checkNoDelay();
+        int port = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 8080;
+        boolean demo = Arrays.asList(args).contains("--demo");
+        SolverService service = new SolverService(demo ? 0 : port).start();
+        System.out.println("Solver service listening on port " + service.port());
+        if (!demo) {
+            return;
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        List<String> lines = new ArrayList<>();
+        for (String endpoint : new String[]{"mst", "closest", "quantile", "maze", "tsp"}) {
+            byte[] body = SolverRequests.sample(endpoint, 50, 1);
+            HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + service.port() + "/" + endpoint))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            ByteBuffer answer = ByteBuffer.wrap(response.body()).order(ByteOrder.LITTLE_ENDIAN);
+            String summary;
+            switch (endpoint) {
+                case "mst":
+                    summary = "total weight " + answer.getLong() + " over " + answer.getInt() + " edges";
+                    break;
+                case "closest":
+                    summary = "first answer starts " + answer.getInt();
+                    break;
+                case "quantile":
+                    summary = "median " + answer.getDouble() + ", p99 " + answer.getDouble(16);
+                    break;
+                case "maze":
+                    summary = "steps " + answer.getInt();
+                    break;
+                default:
+                    summary = "tour length " + answer.getDouble();
+            }
+            lines.add("/" + endpoint + " -> " + response.statusCode() + ", " + summary);
+        }
+        lines.forEach(System.out::println);
+        System.out.print(service.stats());
+        service.close();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ujjwol.dsa.bst;
+
+import java.util.Arrays;
+
+public class ClosestValuesInBST {
+    // Returns up to x values closest to target, nearest first, in O(h + x) without recursion
+    public static int[] closestValues(TreeNode root, double target, int x) {
+        // Predecessor stack holds the path of nodes <= target, successor stack the nodes > target
+        NodeStack predecessors = new NodeStack();
+        NodeStack successors = new NodeStack();
+        for (TreeNode node = root; node != null; ) {
+            if (node.val <= target) {
+                predecessors.push(node);
+                node = node.right;
+            } else {
+                successors.push(node);
+                node = node.left;
+            }
+        }
+
+        // Merge outwards from target, taking whichever side is closer (ties go to the smaller value)
+        int[] result = new int[x];
+        int count = 0;
+        while (count < x && (!predecessors.isEmpty() || !successors.isEmpty())) {
+            boolean takePredecessor = successors.isEmpty()
+                    || (!predecessors.isEmpty()
+                        && target - predecessors.peek().val <= successors.peek().val - target);
+            if (takePredecessor) {
+                TreeNode node = predecessors.pop();
+                result[count++] = node.val;
+                // Next smaller value: rightmost path of the left subtree
+                for (TreeNode n = node.left; n != null; n = n.right) {
+                    predecessors.push(n);
+                }
+            } else {
+                TreeNode node = successors.pop();
+                result[count++] = node.val;
+                // Next larger value: leftmost path of the right subtree
+                for (TreeNode n = node.right; n != null; n = n.left) {
+                    successors.push(n);
+                }
+            }
+        }
+
+        // Fewer than x nodes in the tree
+        return count == x ? result : Arrays.copyOf(result, count);
+    }
+
+    // Array-backed stack of tree nodes
+    private static class NodeStack {
+        private TreeNode[] items = new TreeNode[32];
+        private int size;
+
+        void push(TreeNode node) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = node;
+        }
+
+        TreeNode pop() {
+            TreeNode node = items[--size];
+            items[size] = null;
+            return node;
+        }
+
+        TreeNode peek() {
+            return items[size - 1];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    public static void main(String[] args) {
+         /*
+//          * Provided Tree:
+//          *       4
+//          *      / \
+//          *     2   5
+//          *    / \
+//          *   1   3
+//          */
+
+        // Example usage
+        TreeNode root = new TreeNode(4);
+        root.left = new TreeNode(2);
+        root.right = new TreeNode(5);
+        root.left.left = new TreeNode(1);
+        root.left.right = new TreeNode(3);
+
+        double target = 3.8;
+        int x = 2;
+
+        int[] closest = closestValues(root, target, x);
+        System.out.println("Closest values to " + target + " are: ");
+        for (int value : closest) {
+            System.out.print(value + " ");
+        }
+    }
+}
\ No newline at end of file
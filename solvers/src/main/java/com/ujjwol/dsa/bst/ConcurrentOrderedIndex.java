@@ -0,0 +1,265 @@
+package com.ujjwol.dsa.bst;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Concurrent ordered set of ints with closest-k queries.
+// The set is a persistent treap: an update copies only the O(log n) nodes on its search path and
+// publishes the new root with a CAS, so readers never block and always see one consistent version.
+public class ConcurrentOrderedIndex {
+
+    // Immutable treap node; the priority is derived from the key, so each set has exactly one shape
+    private static final class Node {
+        final int key;
+        final int priority;
+        final Node left, right;
+
+        Node(int key, int priority, Node left, Node right) {
+            this.key = key;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+
+        Node withLeft(Node newLeft) {
+            return new Node(key, priority, newLeft, right);
+        }
+
+        Node withRight(Node newRight) {
+            return new Node(key, priority, left, newRight);
+        }
+    }
+
+    // One published version of the set
+    public static final class Snapshot {
+        private final Node root;
+        private final int size;
+        private final long version;
+
+        private Snapshot(Node root, int size, long version) {
+            this.root = root;
+            this.size = size;
+            this.version = version;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public boolean contains(int key) {
+            Node node = root;
+            while (node != null && node.key != key) {
+                node = key < node.key ? node.left : node.right;
+            }
+            return node != null;
+        }
+
+        // Up to x values closest to target, nearest first, ties to the smaller value; O(h + x)
+        public int[] closestValues(double target, int x) {
+            Node[] predecessors = new Node[64];
+            Node[] successors = new Node[64];
+            int p = 0, s = 0;
+            for (Node node = root; node != null; ) {
+                if (node.key <= target) {
+                    predecessors = push(predecessors, p++, node);
+                    node = node.right;
+                } else {
+                    successors = push(successors, s++, node);
+                    node = node.left;
+                }
+            }
+
+            int[] result = new int[Math.min(x, size)];
+            for (int i = 0; i < result.length; i++) {
+                if (s == 0 || (p > 0 && target - predecessors[p - 1].key <= successors[s - 1].key - target)) {
+                    Node node = predecessors[--p];
+                    result[i] = node.key;
+                    for (Node n = node.left; n != null; n = n.right) {
+                        predecessors = push(predecessors, p++, n);
+                    }
+                } else {
+                    Node node = successors[--s];
+                    result[i] = node.key;
+                    for (Node n = node.right; n != null; n = n.left) {
+                        successors = push(successors, s++, n);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static Node[] push(Node[] stack, int size, Node node) {
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size] = node;
+            return stack;
+        }
+    }
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(null, 0, 0));
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public int[] closestValues(double target, int x) {
+        return current.get().closestValues(target, x);
+    }
+
+    public int size() {
+        return current.get().size;
+    }
+
+    // Returns false if the key was already present
+    public boolean insert(int key) {
+        while (true) {
+            Snapshot before = current.get();
+            if (before.contains(key)) {
+                return false;
+            }
+            Node root = insert(before.root, key, priority(key));
+            if (current.compareAndSet(before, new Snapshot(root, before.size + 1, before.version + 1))) {
+                return true;
+            }
+        }
+    }
+
+    // Returns false if the key was not present
+    public boolean delete(int key) {
+        while (true) {
+            Snapshot before = current.get();
+            if (!before.contains(key)) {
+                return false;
+            }
+            Node root = delete(before.root, key);
+            if (current.compareAndSet(before, new Snapshot(root, before.size - 1, before.version + 1))) {
+                return true;
+            }
+        }
+    }
+
+    // Stafford mix of the key, a fixed pseudo-random priority
+    private static int priority(int key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    private static Node insert(Node node, int key, int priority) {
+        if (node == null) {
+            return new Node(key, priority, null, null);
+        }
+        if (priority > node.priority) {
+            Node[] parts = split(node, key);
+            return new Node(key, priority, parts[0], parts[1]);
+        }
+        return key < node.key
+                ? node.withLeft(insert(node.left, key, priority))
+                : node.withRight(insert(node.right, key, priority));
+    }
+
+    // Split into keys < key and keys > key, copying only the nodes on the path
+    private static Node[] split(Node node, int key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.key < key) {
+            Node[] parts = split(node.right, key);
+            parts[0] = node.withRight(parts[0]);
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        parts[1] = node.withLeft(parts[1]);
+        return parts;
+    }
+
+    private static Node delete(Node node, int key) {
+        if (node.key == key) {
+            return merge(node.left, node.right);
+        }
+        return key < node.key
+                ? node.withLeft(delete(node.left, key))
+                : node.withRight(delete(node.right, key));
+    }
+
+    // Merge two treaps where every key of a is smaller than every key of b
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.priority > b.priority
+                ? a.withRight(merge(a.right, b))
+                : b.withLeft(merge(a, b.left));
+    }
+
+    // Mixed read/write benchmark: reader latency percentiles while writers insert and delete
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentOrderedIndex index = new ConcurrentOrderedIndex();
+        Random seed = new Random(8);
+        int range = 2_000_000;
+        for (int i = 0; i < 500_000; i++) {
+            index.insert(seed.nextInt(range));
+        }
+
+        int readers = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        int writers = 1;
+        int samplesPerReader = 200_000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[][] latencies = new long[readers][samplesPerReader];
+        long[] writes = new long[writers];
+        AtomicBoolean consistent = new AtomicBoolean(true);
+
+        Thread[] threads = new Thread[readers + writers];
+        for (int r = 0; r < readers; r++) {
+            int id = r;
+            threads[r] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < samplesPerReader; i++) {
+                    double target = random.nextDouble() * range;
+                    long start = System.nanoTime();
+                    int[] closest = index.closestValues(target, 8);
+                    latencies[id][i] = System.nanoTime() - start;
+                    // Distances must be non-decreasing within one consistent version
+                    for (int j = 1; j < closest.length; j++) {
+                        if (Math.abs(closest[j] - target) < Math.abs(closest[j - 1] - target)) {
+                            consistent.set(false);
+                        }
+                    }
+                }
+            });
+        }
+        for (int w = 0; w < writers; w++) {
+            int id = w;
+            threads[readers + w] = new Thread(() -> {
+                Random random = new Random(100 + id);
+                while (running.get()) {
+                    int key = random.nextInt(range);
+                    if (random.nextBoolean()) index.insert(key);
+                    else index.delete(key);
+                    writes[id]++;
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) thread.start();
+        for (int r = 0; r < readers; r++) threads[r].join();
+        running.set(false);
+        for (int w = 0; w < writers; w++) threads[readers + w].join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%d readers, %d writer(s), %.2f s, %d writes (%.0f/s), consistent=%b%n",
+                readers, writers, seconds, Arrays.stream(writes).sum(), Arrays.stream(writes).sum() / seconds,
+                consistent.get());
+        System.out.printf("read latency p50=%d ns p99=%d ns p99.9=%d ns max=%d ns%n",
+                all[all.length / 2], all[(int) (all.length * 0.99)], all[(int) (all.length * 0.999)], all[all.length - 1]);
+    }
+}
@@ -0,0 +1,154 @@
+package com.ujjwol.dsa.bst;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// Read-only sorted index in Eytzinger (BFS) order: node k has children 2k and 2k+1, so the first
+// levels of every search share the same few cache lines and the descent has no unpredictable branch.
+// Closest-k answers are merged on the plain sorted copy, which is scanned sequentially.
+public class EytzingerIndex {
+    private final int n;
+    private final int[] sorted;
+    private final int[] layout; // 1-based Eytzinger order
+    private final int[] rank;   // Position in sorted of each layout slot
+
+    private EytzingerIndex(int[] sorted) {
+        this.n = sorted.length;
+        this.sorted = sorted;
+        this.layout = new int[n + 1];
+        this.rank = new int[n + 1];
+        build(0, 1);
+    }
+
+    public static EytzingerIndex fromSorted(int[] sortedValues) {
+        return new EytzingerIndex(sortedValues.clone());
+    }
+
+    // Iterative in-order walk of the BST into a sorted array
+    public static EytzingerIndex fromTree(TreeNode root) {
+        int[] values = new int[16];
+        int size = 0;
+        TreeNode[] stack = new TreeNode[32];
+        int depth = 0;
+        TreeNode node = root;
+        while (node != null || depth > 0) {
+            while (node != null) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = node.left;
+            }
+            node = stack[--depth];
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = node.val;
+            node = node.right;
+        }
+        return new EytzingerIndex(Arrays.copyOf(values, size));
+    }
+
+    // Fill the layout by an in-order walk of the implicit tree; depth is log2(n)
+    private int build(int next, int k) {
+        if (k <= n) {
+            next = build(next, 2 * k);
+            layout[k] = sorted[next];
+            rank[k] = next++;
+            next = build(next, 2 * k + 1);
+        }
+        return next;
+    }
+
+    // Index in sorted of the first value greater than target, or n if there is none
+    int upperBound(double target) {
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (layout[k] <= target ? 1 : 0);
+        }
+        // Undo the trailing right turns plus the last left turn to find the answer's slot
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k == 0 ? n : rank[k];
+    }
+
+    // Up to x values closest to target, nearest first, ties to the smaller value
+    public int[] closestValues(double target, int x) {
+        int hi = upperBound(target);
+        int lo = hi - 1;
+        int count = Math.min(x, n);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            if (hi >= n || (lo >= 0 && target - sorted[lo] <= sorted[hi] - target)) {
+                result[i] = sorted[lo--];
+            } else {
+                result[i] = sorted[hi++];
+            }
+        }
+        return result;
+    }
+
+    // Batch of queries answered in parallel; targets may be in any order
+    public int[][] closestValues(double[] targets, int x) {
+        return IntStream.range(0, targets.length).parallel()
+                .mapToObj(i -> closestValues(targets[i], x))
+                .toArray(int[][]::new);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // Balanced BST over sorted values, for comparing against the pointer-based search
+    static TreeNode balancedTree(int[] sortedValues, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        TreeNode node = new TreeNode(sortedValues[mid]);
+        node.left = balancedTree(sortedValues, from, mid);
+        node.right = balancedTree(sortedValues, mid + 1, to);
+        return node;
+    }
+
+    public static void main(String[] args) {
+        TreeNode root = new TreeNode(4);
+        root.left = new TreeNode(2);
+        root.right = new TreeNode(5);
+        root.left.left = new TreeNode(1);
+        root.left.right = new TreeNode(3);
+        System.out.println("Closest values to 3.8: " + Arrays.toString(fromTree(root).closestValues(3.8, 2))); // [4, 3]
+
+        // Rough comparison on a large set; the JMH harness gives the precise numbers
+        int size = 4_000_000;
+        int queries = 2_000_000;
+        Random random = new Random(5);
+        int[] values = random.ints(size, 0, Integer.MAX_VALUE).sorted().distinct().toArray();
+        TreeNode tree = balancedTree(values, 0, values.length);
+        EytzingerIndex index = fromSorted(values);
+        double[] targets = random.doubles(queries, 0, Integer.MAX_VALUE).toArray();
+
+        for (int round = 0; round < 3; round++) {
+            long checksum = 0;
+            long start = System.nanoTime();
+            for (double target : targets) {
+                checksum += ClosestValuesInBST.closestValues(tree, target, 4)[0];
+            }
+            long pointerTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (double target : targets) {
+                checksum -= index.closestValues(target, 4)[0];
+            }
+            long eytzingerTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[][] batch = index.closestValues(targets, 4);
+            long batchTime = System.nanoTime() - start;
+
+            System.out.printf("pointer tree %.0f ns/query, eytzinger %.0f ns/query, parallel batch %.0f ns/query (checksum %d, %d)%n",
+                    (double) pointerTime / queries, (double) eytzingerTime / queries,
+                    (double) batchTime / queries, checksum, batch.length);
+        }
+    }
+}
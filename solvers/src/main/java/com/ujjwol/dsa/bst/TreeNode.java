@@ -0,0 +1,11 @@
+package com.ujjwol.dsa.bst;
+
+class TreeNode {
+    int val;
+    TreeNode left, right;
+
+    TreeNode(int val) {
+        this.val = val;
+        left = right = null;
+    }
+}
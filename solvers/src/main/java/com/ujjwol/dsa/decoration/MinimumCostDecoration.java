@@ -0,0 +1,241 @@
+package com.ujjwol.dsa.decoration;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class MinimumCostDecoration {
+    // Larger than any real total, small enough that adding a cost cannot overflow
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    // Rolling row of the dp: only the smallest and second smallest totals of the previous venue are needed,
+    // because theme j continues from the best total unless the best itself used theme j
+    private static final class Row {
+        long min1 = 0, min2 = 0;
+        int min1Theme = -1, min2Theme = -1;
+
+        // Fold in the next venue's costs; scratch must hold at least costs.length values
+        void advance(int[] costs, int k, long[] scratch) {
+            for (int j = 0; j < k; j++) {
+                // An unreachable predecessor (k == 1 after the first venue) stays unreachable; adding a
+                // negative cost to INFINITY would otherwise look like a real total
+                long previous = j != min1Theme ? min1 : min2;
+                scratch[j] = previous >= INFINITY ? INFINITY : costs[j] + previous;
+            }
+            long best = INFINITY, second = INFINITY;
+            int bestTheme = -1, secondTheme = -1;
+            for (int j = 0; j < k; j++) {
+                long total = Math.min(scratch[j], INFINITY);
+                if (total < best) {
+                    second = best;
+                    secondTheme = bestTheme;
+                    best = total;
+                    bestTheme = j;
+                } else if (total < second) {
+                    second = total;
+                    secondTheme = j;
+                }
+            }
+            min1 = best;
+            min1Theme = bestTheme;
+            min2 = second;
+            min2Theme = secondTheme;
+        }
+    }
+
+    // O(n*k) time, O(k) memory. Throws ArithmeticException when the cheapest total does not fit an int;
+    // the Path overload returns a long for inputs that large.
+    public static int minCostToDecorate(int[][] costs) {
+        if (costs == null || costs.length == 0 || costs[0].length == 0) {
+            return 0;
+        }
+        int k = costs[0].length;
+        Row row = new Row();
+        long[] scratch = new long[k];
+        for (int[] venue : costs) {
+            row.advance(venue, k, scratch);
+        }
+        // With a single theme and several venues there is no valid assignment
+        return row.min1 >= INFINITY ? Integer.MAX_VALUE : Math.toIntExact(row.min1);
+    }
+
+    // Theme of each venue in a cheapest assignment, or null if there is none.
+    // Only the two best themes of every venue are kept (two ints per venue), which is enough to walk back.
+    public static int[] cheapestThemes(int[][] costs) {
+        if (costs == null || costs.length == 0 || costs[0].length == 0) {
+            return new int[0];
+        }
+        int n = costs.length;
+        int k = costs[0].length;
+        int[] bestTheme = new int[n];
+        int[] secondTheme = new int[n];
+        Row row = new Row();
+        long[] scratch = new long[k];
+        for (int i = 0; i < n; i++) {
+            row.advance(costs[i], k, scratch);
+            bestTheme[i] = row.min1Theme;
+            secondTheme[i] = row.min2Theme;
+        }
+        if (row.min1 >= INFINITY) {
+            return null;
+        }
+
+        int[] themes = new int[n];
+        themes[n - 1] = bestTheme[n - 1];
+        for (int i = n - 1; i > 0; i--) {
+            themes[i - 1] = bestTheme[i - 1] != themes[i] ? bestTheme[i - 1] : secondTheme[i - 1];
+        }
+        return themes;
+    }
+
+    // Streams venues from a text file, one line of costs per venue, holding only one row in memory.
+    // Returns Long.MAX_VALUE if there is no valid assignment.
+    public static long minCostToDecorate(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            RowReader reader = new RowReader(in);
+            int[] venue = reader.nextRow(null);
+            if (venue == null) {
+                return 0;
+            }
+            int k = venue.length;
+            Row row = new Row();
+            long[] scratch = new long[k];
+            int venues = 0;
+            do {
+                if (venue.length != k) {
+                    throw new IOException("Venue " + venues + " has " + venue.length + " costs, expected " + k);
+                }
+                row.advance(venue, k, scratch);
+                venues++;
+            } while ((venue = reader.nextRow(venue)) != null);
+            return row.min1 >= INFINITY ? Long.MAX_VALUE : row.min1;
+        }
+    }
+
+    // Solve many independent cost matrices in parallel
+    public static int[] minCostToDecorate(int[][][] batch) {
+        return IntStream.range(0, batch.length).parallel()
+                .map(i -> minCostToDecorate(batch[i]))
+                .toArray();
+    }
+
+    // Reads whitespace-separated ints line by line, skipping blank lines; refills its own byte[]
+    // instead of going through a synchronized read() per byte
+    private static final class RowReader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int length, position;
+
+        RowReader(InputStream in) {
+            this.in = in;
+        }
+
+        // Next non-empty line, reusing buffer when it is large enough; the length is exact
+        int[] nextRow(int[] buffer) throws IOException {
+            int[] values = buffer != null ? buffer : new int[16];
+            int size = 0;
+            int c = read();
+            while (true) {
+                while (c == ' ' || c == '\t' || c == '\r') {
+                    c = read();
+                }
+                if (c == -1 || c == '\n') {
+                    if (size > 0) {
+                        return size == values.length ? values : Arrays.copyOf(values, size);
+                    }
+                    if (c == -1) {
+                        return null;
+                    }
+                    c = read();
+                    continue;
+                }
+                boolean negative = c == '-';
+                if (negative) {
+                    c = read();
+                }
+                if (c < '0' || c > '9') {
+                    throw new IOException("Unexpected character '" + (char) c + "'");
+                }
+                long value = 0;
+                long limit = negative ? Integer.MAX_VALUE + 1L : Integer.MAX_VALUE;
+                while (c >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    if (value > limit) {
+                        throw new IOException("Cost out of int range");
+                    }
+                    c = read();
+                }
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = (int) (negative ? -value : value);
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == length) {
+                length = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (length <= 0) {
+                    length = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[][] costMatrix = {{1, 3, 2}, {4, 6, 8}, {3, 1, 5}};
+        int result = minCostToDecorate(costMatrix);
+        System.out.println(result); // Output: 7
+        System.out.println(Arrays.toString(cheapestThemes(costMatrix))); // Output: [2, 0, 1]
+
+        // One theme and several venues has no valid assignment, negative costs included
+        int[][] singleTheme = {{5}, {-3}};
+        Path singleFile = Files.createTempFile("venues", ".txt");
+        Files.writeString(singleFile, "5\n-3\n");
+        if (minCostToDecorate(singleTheme) != Integer.MAX_VALUE || cheapestThemes(singleTheme) != null
+                || minCostToDecorate(singleFile) != Long.MAX_VALUE) {
+            throw new IllegalStateException("Single theme with negative costs must have no assignment");
+        }
+        Files.delete(singleFile);
+        System.out.println(minCostToDecorate(singleTheme)); // Output: 2147483647
+
+        // Streaming: a file with many venues and themes, read one row at a time
+        Random random = new Random(3);
+        Path file = Files.createTempFile("venues", ".txt");
+        try (Writer out = new BufferedWriter(new FileWriter(file.toFile()))) {
+            for (int i = 0; i < 200_000; i++) {
+                for (int j = 0; j < 50; j++) {
+                    out.write(j == 0 ? "" : " ");
+                    out.write(Integer.toString(random.nextInt(1000)));
+                }
+                out.write('\n');
+            }
+        }
+        long start = System.nanoTime();
+        long streamed = minCostToDecorate(file);
+        System.out.printf("Streamed %d bytes: cost %d in %.2f s%n", Files.size(file), streamed,
+                (System.nanoTime() - start) / 1e9);
+        Files.delete(file);
+
+        // Batch: thousands of small independent matrices
+        int[][][] batch = new int[10_000][][];
+        for (int b = 0; b < batch.length; b++) {
+            batch[b] = new int[100][20];
+            for (int[] venue : batch[b]) {
+                for (int j = 0; j < venue.length; j++) {
+                    venue[j] = random.nextInt(100);
+                }
+            }
+        }
+        start = System.nanoTime();
+        int[] costs = minCostToDecorate(batch);
+        System.out.printf("Batch of %d matrices in %.2f s (first cost %d)%n", costs.length,
+                (System.nanoTime() - start) / 1e9, costs[0]);
+    }
+}
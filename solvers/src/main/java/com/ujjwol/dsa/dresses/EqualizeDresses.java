@@ -0,0 +1,158 @@
+package com.ujjwol.dsa.dresses;
+
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class EqualizeDresses{
+    // Machines per mapped chunk (64 MB of big-endian int32 counts)
+    private static final int CHUNK_MACHINES = 1 << 24;
+
+    public static long MinMovesEqualizeDresses(int[] sewingMachines) {
+        if (sewingMachines.length == 0) {
+            throw new IllegalArgumentException("No sewing machines");
+        }
+        long totalDresses = 0;
+        int n = sewingMachines.length;
+
+        for (int dresses : sewingMachines) {
+            totalDresses += dresses;
+        }
+
+        long targetDresses = totalDresses / n;
+
+        if (totalDresses % n != 0) {
+            return -1;
+        }
+
+        long moves = 0;
+        long surplus = 0;
+
+        for (int dresses : sewingMachines) {
+            surplus += dresses - targetDresses;
+            moves = Math.addExact(moves, Math.abs(surplus));
+        }
+
+        return moves / 2;
+    }
+
+    // Both versions throw ArithmeticException if the move count does not fit in a long.
+    // Same answer for a file of big-endian int32 counts, one per machine, read through mapped chunks.
+    // Pass 1 sums every chunk in parallel. The surplus entering a chunk is then the sum of
+    // (chunk total - target * chunk length) over the chunks before it, so pass 2 can add up each
+    // chunk's |surplus| independently, starting from that carry. Heap use does not grow with the file.
+    public static long MinMovesEqualizeDresses(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % 4 != 0) {
+                throw new IOException("File length is not a multiple of 4 bytes: " + bytes);
+            }
+            long n = bytes / 4;
+            if (n == 0) {
+                throw new IllegalArgumentException("No sewing machines");
+            }
+            int chunks = (int) ((n + CHUNK_MACHINES - 1) / CHUNK_MACHINES);
+
+            long[] chunkTotals = new long[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                MappedByteBuffer buffer = map(channel, c, n);
+                int count = buffer.limit() / 4;
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += buffer.getInt(i * 4);
+                }
+                chunkTotals[c] = sum;
+            });
+
+            long totalDresses = 0;
+            for (long sum : chunkTotals) {
+                totalDresses += sum;
+            }
+            if (totalDresses % n != 0) {
+                return -1;
+            }
+            long targetDresses = totalDresses / n;
+
+            // Carry fix-up: surplus entering each chunk, an exclusive prefix over the chunk surpluses
+            long[] carry = new long[chunks];
+            for (int c = 1; c < chunks; c++) {
+                // Every chunk but the last is full
+                carry[c] = carry[c - 1] + chunkTotals[c - 1] - targetDresses * CHUNK_MACHINES;
+            }
+
+            long[] chunkMoves = new long[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                MappedByteBuffer buffer = map(channel, c, n);
+                int count = buffer.limit() / 4;
+                long surplus = carry[c];
+                long moves = 0;
+                for (int i = 0; i < count; i++) {
+                    surplus += buffer.getInt(i * 4) - targetDresses;
+                    moves = Math.addExact(moves, Math.abs(surplus));
+                }
+                chunkMoves[c] = moves;
+            });
+
+            long moves = 0;
+            for (long chunk : chunkMoves) {
+                moves = Math.addExact(moves, chunk);
+            }
+            return moves / 2;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, int chunk, long machines) {
+        long first = (long) chunk * CHUNK_MACHINES;
+        long count = Math.min(CHUNK_MACHINES, machines - first);
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, first * 4, count * 4);
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    // Write counts in the format the file engine reads
+    public static void writeMachines(Path file, int[] sewingMachines) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (int dresses : sewingMachines) {
+                out.writeInt(dresses);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sewingMachines = {1, 0, 5};
+        long minMoves = MinMovesEqualizeDresses(sewingMachines);
+        System.out.println("Minimum number of moves required: " + minMoves);
+
+        // 50 million machines; totals and move counts are far beyond int range
+        int n = 50_000_000;
+        Random random = new Random(4);
+        int[] large = new int[n];
+        for (int i = 0; i < n; i++) {
+            large[i] = random.nextInt(100_000);
+        }
+        long total = 0;
+        for (int dresses : large) total += dresses;
+        large[n - 1] -= (int) (total % n); // Make the total divisible
+        Path file = Files.createTempFile("machines", ".bin");
+        writeMachines(file, large);
+
+        long start = System.nanoTime();
+        long inMemory = MinMovesEqualizeDresses(large);
+        double memorySeconds = (System.nanoTime() - start) / 1e9;
+        start = System.nanoTime();
+        long mapped = MinMovesEqualizeDresses(file);
+        double mappedSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d machines: in memory %d (%.2f s), mapped file %d (%.2f s)%n",
+                n, inMemory, memorySeconds, mapped, mappedSeconds);
+        Files.delete(file);
+    }
+}
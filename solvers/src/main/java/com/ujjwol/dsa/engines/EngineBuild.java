@@ -0,0 +1,61 @@
+package com.ujjwol.dsa.engines;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class EngineBuild {
+    // Above this size the sort is split across cores
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    // Repeatedly take the two fastest engines and replace them with the slower one plus splitTime.
+    // Sorting once makes this linear: every merged value is at least the previous one, so merged values
+    // form a second sorted queue and the two smallest are always at the fronts of the two queues.
+    public static long minBuildTime(int[] engines, int splitTime) {
+        if (engines.length == 0) {
+            throw new IllegalArgumentException("At least one engine is required");
+        }
+        int[] sorted = engines.clone();
+        if (sorted.length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(sorted);
+        } else {
+            Arrays.sort(sorted);
+        }
+
+        int n = sorted.length;
+        long[] merged = new long[n - 1];
+        int next = 0;                 // Front of the sorted engines
+        int head = 0, tail = 0;       // Front and back of the merged queue
+        for (int remaining = n; remaining > 1; remaining--) {
+            // The first polled value is discarded; only the second one carries over
+            if (next < n && (head == tail || sorted[next] <= merged[head])) {
+                next++;
+            } else {
+                head++;
+            }
+            long second;
+            if (next < n && (head == tail || sorted[next] <= merged[head])) {
+                second = sorted[next++];
+            } else {
+                second = merged[head++];
+            }
+            merged[tail++] = second + splitTime;
+        }
+        return next < n ? sorted[next] : merged[head];
+    }
+
+    // Independent inputs solved in parallel
+    public static long[] minBuildTime(int[][] batch, int splitTime) {
+        return IntStream.range(0, batch.length).parallel()
+                .mapToLong(i -> minBuildTime(batch[i], splitTime))
+                .toArray();
+    }
+
+    public static void main(String[] args) {
+        int[] engines = {1, 2, 3};
+        int splitTime = 1;
+
+        long totalTime = minBuildTime(engines, splitTime);
+
+        System.out.println("Minimum time to build all engines: " + totalTime);
+    }
+}
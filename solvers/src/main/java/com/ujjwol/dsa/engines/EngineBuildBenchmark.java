@@ -0,0 +1,46 @@
+package com.ujjwol.dsa.engines;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// Compares the two-queue merge with the original PriorityQueue version on large inputs
+public class EngineBuildBenchmark {
+
+    // The original heap version, accumulating in long so both give the same answer
+    static long heapMinBuildTime(int[] engines, int splitTime) {
+        PriorityQueue<Long> engineQueue = new PriorityQueue<>();
+        for (int engine : engines) {
+            engineQueue.offer((long) engine);
+        }
+        while (engineQueue.size() > 1) {
+            engineQueue.poll();
+            long secondFastestEngine = engineQueue.poll();
+            engineQueue.offer(secondFastestEngine + splitTime);
+        }
+        return engineQueue.poll();
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int splitTime = 7;
+        Random random = new Random(42);
+        int[] engines = new int[n];
+        for (int i = 0; i < n; i++) {
+            engines[i] = random.nextInt(1_000_000_000);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long fast = EngineBuild.minBuildTime(engines, splitTime);
+            double mergeSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            long heap = heapMinBuildTime(engines, splitTime);
+            double heapSeconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("n=%d: two-queue %.3f s, heap %.3f s, speedup %.1fx, results %d / %d%s%n",
+                    n, mergeSeconds, heapSeconds, heapSeconds / mergeSeconds, fast, heap,
+                    fast == heap ? "" : " MISMATCH");
+        }
+    }
+}
@@ -1,3 +1,10 @@
+package com.ujjwol.dsa.images;
+
+import com.ujjwol.dsa.metrics.Counter;
+import com.ujjwol.dsa.metrics.Histogram;
+import com.ujjwol.dsa.metrics.MetricsRegistry;
+import com.ujjwol.dsa.metrics.SolverEvents;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -13,6 +20,9 @@ public class ImageDownloaderApp extends JFrame {
 
     private ExecutorService executorService;
     private static final String DOWNLOAD_DIRECTORY = "./downloaded_file/";
+    private static final Counter DOWNLOADED_BYTES = MetricsRegistry.counter("download.bytes");
+    private static final Counter FAILED_DOWNLOADS = MetricsRegistry.counter("download.failures");
+    private static final Histogram DOWNLOAD_NANOS = MetricsRegistry.histogram("download.nanos");
     private List<Future<?>> downloadTasks;
     private Map<Future<?>, DownloadInfo> downloadInfoMap;
 
@@ -146,6 +156,16 @@ public class ImageDownloaderApp extends JFrame {
             public void run() {
                 DownloadInfo downloadInfo = downloadInfoMap.get(Thread.currentThread());
                 int progress = downloadInfo != null ? downloadInfo.getProgress() : 0;
+                SolverEvents.Download event = null;
+                long startNanos = 0;
+                if (MetricsRegistry.ENABLED) {
+                    event = new SolverEvents.Download();
+                    event.url = urlString;
+                    event.begin();
+                    startNanos = System.nanoTime();
+                }
+                int startProgress = progress;
+                int responseCode = -1;
                 try {
                     URL url = new URL(urlString);
                     HttpURLConnection connection = (HttpURLConnection) url.openConnection();
@@ -155,7 +175,7 @@ public class ImageDownloaderApp extends JFrame {
                         connection.setRequestProperty("Range", "bytes=" + progress + "-");
                     }
 
-                    int responseCode = connection.getResponseCode();
+                    responseCode = connection.getResponseCode();
                     if (responseCode == HttpURLConnection.HTTP_OK || responseCode == HttpURLConnection.HTTP_PARTIAL) {
                         int contentLength = connection.getContentLength();
                         InputStream inputStream = connection.getInputStream();
@@ -195,6 +215,18 @@ public class ImageDownloaderApp extends JFrame {
                     }
                     if (!(e instanceof InterruptedException)) {
                         e.printStackTrace();
+                        if (MetricsRegistry.ENABLED) {
+                            FAILED_DOWNLOADS.increment();
+                        }
+                    }
+                } finally {
+                    if (MetricsRegistry.ENABLED) {
+                        long bytes = progress - startProgress;
+                        DOWNLOADED_BYTES.add(bytes);
+                        DOWNLOAD_NANOS.record(System.nanoTime() - startNanos);
+                        event.responseCode = responseCode;
+                        event.bytes = bytes;
+                        event.commit();
                     }
                 }
             }
@@ -0,0 +1,218 @@
+package com.ujjwol.dsa.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Binary input file shared by the graph, TSP and maze solvers, read through memory-mapped views.
+//
+// Layout, little-endian:
+//   0  int   magic "DSAB"
+//   4  short version, short flags (EDGES, WEIGHTS, COORDINATES, GRID)
+//   8  long  vertex count
+//   16 long  edge count
+//   24 int   grid rows, int grid cols
+//   32 int   coordinate metric (METRIC_*), then zero padding up to 64
+//   64 sections, each starting on an 8-byte boundary and present only if its flag is set:
+//      from int[edges], to int[edges], weight int[edges], x double[vertices], y double[vertices],
+//      grid byte[rows * cols] holding the raw maze characters row by row
+public final class DsaFile {
+    static final int MAGIC = 0x42415344; // "DSAB" read as a little-endian int
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    public static final int EDGES = 1, WEIGHTS = 2, COORDINATES = 4, GRID = 8;
+    public static final int METRIC_NONE = 0, METRIC_EUC_2D = 1, METRIC_CEIL_2D = 2, METRIC_ATT = 3, METRIC_GEO = 4;
+
+    // Section indices into the offsets computed by layout
+    static final int FROM = 0, TO = 1, WEIGHT = 2, X = 3, Y = 4, CELLS = 5, END = 6;
+
+    private final int flags;
+    private final long vertices, edges;
+    private final int rows, cols;
+    private final int metric;
+    private final ByteBuffer[] sections = new ByteBuffer[END];
+
+    private DsaFile(int flags, long vertices, long edges, int rows, int cols, int metric) {
+        this.flags = flags;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.rows = rows;
+        this.cols = cols;
+        this.metric = metric;
+    }
+
+    // Byte offset of every section plus the total file length; absent sections are empty
+    static long[] layout(int flags, long vertices, long edges, long gridBytes) {
+        long[] offsets = new long[END + 1];
+        long position = HEADER_BYTES;
+        long[] sizes = {
+                (flags & EDGES) != 0 ? 4 * edges : 0,
+                (flags & EDGES) != 0 ? 4 * edges : 0,
+                (flags & WEIGHTS) != 0 ? 4 * edges : 0,
+                (flags & COORDINATES) != 0 ? 8 * vertices : 0,
+                (flags & COORDINATES) != 0 ? 8 * vertices : 0,
+                (flags & GRID) != 0 ? gridBytes : 0,
+        };
+        for (int s = 0; s < END; s++) {
+            offsets[s] = position;
+            position = (position + sizes[s] + 7) & ~7L;
+        }
+        offsets[END] = position;
+        return offsets;
+    }
+
+    public static DsaFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            DsaFile file = readHeader(channel.size() < HEADER_BYTES ? null
+                    : channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES), channel.size(), path.toString());
+            long[] offsets = layout(file.flags, file.vertices, file.edges, (long) file.rows * file.cols);
+            long[] sizes = file.sectionSizes();
+            for (int s = 0; s < END; s++) {
+                if (sizes[s] > 0) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offsets[s], sizes[s]);
+                    file.sections[s] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+            return file;
+        }
+    }
+
+    // A DSAB image already in memory, e.g. a request body; the views share the given buffer's content
+    public static DsaFile wrap(ByteBuffer bytes) throws IOException {
+        ByteBuffer image = bytes.slice();
+        DsaFile file = readHeader(image.remaining() < HEADER_BYTES ? null : image.slice(0, HEADER_BYTES),
+                image.remaining(), "buffer");
+        long[] offsets = layout(file.flags, file.vertices, file.edges, (long) file.rows * file.cols);
+        long[] sizes = file.sectionSizes();
+        for (int s = 0; s < END; s++) {
+            if (sizes[s] > 0) {
+                file.sections[s] = image.slice((int) offsets[s], (int) sizes[s]).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        return file;
+    }
+
+    // Validates the header against the total length; header is null when the source is too short
+    private static DsaFile readHeader(ByteBuffer header, long length, String source) throws IOException {
+        if (header == null) {
+            throw new IOException("Not a DSAB file (too short): " + source);
+        }
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a DSAB file (bad magic): " + source);
+        }
+        if (header.getShort(4) != VERSION) {
+            throw new IOException("Unsupported DSAB version " + header.getShort(4) + ": " + source);
+        }
+        DsaFile file = new DsaFile(header.getShort(6), header.getLong(8), header.getLong(16),
+                header.getInt(24), header.getInt(28), header.getInt(32));
+        if (file.vertices < 0 || file.edges < 0 || file.rows < 0 || file.cols < 0) {
+            throw new IOException("Negative count in DSAB header: " + source);
+        }
+        // Bounds the counts the sections are sized from before layout multiplies them, so a forged header
+        // cannot wrap around to a small size and pass the length check
+        if ((file.has(EDGES) || file.has(WEIGHTS)) && file.edges > Integer.MAX_VALUE / 4) {
+            throw new IOException("Too many edges to map (" + file.edges + "): " + source);
+        }
+        if (file.has(COORDINATES) && file.vertices > Integer.MAX_VALUE / 8) {
+            throw new IOException("Too many vertices to map (" + file.vertices + "): " + source);
+        }
+
+        long[] offsets = layout(file.flags, file.vertices, file.edges, (long) file.rows * file.cols);
+        if (length < offsets[END]) {
+            throw new IOException("Truncated DSAB file, expected " + offsets[END] + " bytes: " + source);
+        }
+        long[] sizes = file.sectionSizes();
+        for (int s = 0; s < END; s++) {
+            // One buffer per section; a buffer can address at most 2 GB
+            if (sizes[s] > Integer.MAX_VALUE) {
+                throw new IOException("Section " + sectionName(s) + " is too large to map (" + sizes[s]
+                        + " bytes): " + source);
+            }
+        }
+        return file;
+    }
+
+    // Byte size of every section, 0 for the ones the flags leave out
+    private long[] sectionSizes() {
+        long grid = (long) rows * cols;
+        return new long[]{
+                has(EDGES) ? 4 * edges : 0,
+                has(EDGES) ? 4 * edges : 0,
+                has(WEIGHTS) ? 4 * edges : 0,
+                has(COORDINATES) ? 8 * vertices : 0,
+                has(COORDINATES) ? 8 * vertices : 0,
+                has(GRID) ? grid : 0,
+        };
+    }
+
+    public long vertexCount() {
+        return vertices;
+    }
+
+    public long edgeCount() {
+        return edges;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int metric() {
+        return metric;
+    }
+
+    public boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    // Every view is a fresh zero-copy window onto the mapped file with its own position
+
+    public IntBuffer from() {
+        return section(FROM, EDGES).asIntBuffer();
+    }
+
+    public IntBuffer to() {
+        return section(TO, EDGES).asIntBuffer();
+    }
+
+    public IntBuffer weights() {
+        return section(WEIGHT, WEIGHTS).asIntBuffer();
+    }
+
+    public DoubleBuffer x() {
+        return section(X, COORDINATES).asDoubleBuffer();
+    }
+
+    public DoubleBuffer y() {
+        return section(Y, COORDINATES).asDoubleBuffer();
+    }
+
+    public ByteBuffer grid() {
+        return section(CELLS, GRID);
+    }
+
+    private ByteBuffer section(int s, int flag) {
+        if ((flags & flag) == 0) {
+            throw new IllegalStateException("File has no " + sectionName(s) + " section");
+        }
+        // Sections of zero length are never mapped
+        ByteBuffer section = sections[s] == null ? ByteBuffer.allocate(0) : sections[s];
+        return section.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static String sectionName(int s) {
+        return new String[]{"from", "to", "weight", "x", "y", "grid"}[s];
+    }
+}
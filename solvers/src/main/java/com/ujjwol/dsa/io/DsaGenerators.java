@@ -0,0 +1,136 @@
+package com.ujjwol.dsa.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.LongToIntFunction;
+
+// Reproducible inputs of any size, streamed straight to DSAB files.
+// Every value is a hash of (seed, index, section) rather than a draw from one Random, so each section
+// can be produced independently without holding the others in memory.
+public class DsaGenerators {
+
+    // Connected graph: edges 0..vertices-2 form a path, the rest join random vertices
+    public static void randomGraph(Path path, int vertices, long edges, int maxWeight, long seed) throws IOException {
+        if (edges < vertices - 1) {
+            throw new IllegalArgumentException("A connected graph needs at least vertices - 1 edges");
+        }
+        DsaWriter.writeGraph(path, vertices, edges,
+                i -> i < vertices - 1 ? (int) i : bounded(seed, i, 1, vertices),
+                i -> i < vertices - 1 ? (int) i + 1 : bounded(seed, i, 2, vertices),
+                i -> bounded(seed, i, 3, maxWeight));
+    }
+
+    // Unweighted DAG: every edge goes from a lower to a higher vertex id
+    public static void randomDag(Path path, int vertices, long edges, long seed) throws IOException {
+        if (vertices < 2) {
+            throw new IllegalArgumentException("A DAG with edges needs at least 2 vertices");
+        }
+        LongToIntFunction from = i -> bounded(seed, i, 1, vertices - 1);
+        DsaWriter.writeGraph(path, vertices, edges, from,
+                i -> {
+                    int source = from.applyAsInt(i);
+                    return source + 1 + bounded(seed, i, 2, vertices - 1 - source);
+                },
+                null);
+    }
+
+    // Cities with integer EUC_2D coordinates in a square that grows with the count, like TSPLibLoader.generate
+    public static void randomPoints(Path path, int vertices, long seed) throws IOException {
+        double side = Math.sqrt(vertices) * 100;
+        DsaWriter.writePoints(path, vertices, DsaFile.METRIC_EUC_2D,
+                i -> Math.floor(unit(seed, i, 1) * side),
+                i -> Math.floor(unit(seed, i, 2) * side));
+    }
+
+    // Maze with the given wall percentage, 'S' in the top-left corner, and keys a.. and doors A.. at random cells
+    public static void randomMaze(Path path, int rows, int cols, int wallPercent, int keys, int doors, long seed)
+            throws IOException {
+        if (keys > 6 || doors > keys) {
+            throw new IllegalArgumentException("At most 6 keys, and no more doors than keys");
+        }
+        // The few special cells, as row * cols + col, placed away from the start
+        long cells = (long) rows * cols;
+        long[] special = new long[keys + doors];
+        for (int s = 0; s < special.length; s++) {
+            special[s] = 1 + (mix(seed, s, 4) >>> 1) % (cells - 1);
+        }
+        DsaWriter.writeGrid(path, rows, cols, (row, line) -> {
+            for (int c = 0; c < cols; c++) {
+                long cell = (long) row * cols + c;
+                line[c] = (byte) (bounded(seed, cell, 5, 100) < wallPercent ? 'W' : 'P');
+            }
+            for (int s = 0; s < special.length; s++) {
+                if (special[s] / cols == row) {
+                    line[(int) (special[s] % cols)] = (byte) (s < keys ? 'a' + s : 'A' + (s - keys));
+                }
+            }
+            if (row == 0) {
+                line[0] = 'S';
+            }
+        });
+    }
+
+    // SplitMix64 finalizer over the seed, index and section
+    static long mix(long seed, long index, int section) {
+        long z = seed + index * 0x9E3779B97F4A7C15L + section * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int bounded(long seed, long index, int section, int bound) {
+        return (int) ((mix(seed, index, section) >>> 1) % bound);
+    }
+
+    private static double unit(long seed, long index, int section) {
+        return (mix(seed, index, section) >>> 11) * 0x1.0p-53;
+    }
+
+    // Command line: generate or convert inputs, or describe an existing file
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage:");
+            System.out.println("  graph  <out> <vertices> <edges> [maxWeight] [seed]");
+            System.out.println("  dag    <out> <vertices> <edges> [seed]");
+            System.out.println("  points <out> <cities> [seed]");
+            System.out.println("  maze   <out> <rows> <cols> [keys] [doors] [wallPercent] [seed]");
+            System.out.println("  edges  <edge list text> <out>");
+            System.out.println("  info   <file>");
+            return;
+        }
+        Path path = Path.of(args[1]);
+        switch (args[0]) {
+            case "graph":
+                randomGraph(path, Integer.parseInt(args[2]), Long.parseLong(args[3]),
+                        arg(args, 4, 1_000_000), arg(args, 5, 1));
+                break;
+            case "dag":
+                randomDag(path, Integer.parseInt(args[2]), Long.parseLong(args[3]), arg(args, 4, 1));
+                break;
+            case "points":
+                randomPoints(path, Integer.parseInt(args[2]), arg(args, 3, 1));
+                break;
+            case "maze":
+                randomMaze(path, Integer.parseInt(args[2]), Integer.parseInt(args[3]), arg(args, 6, 20),
+                        arg(args, 4, 4), arg(args, 5, 2), arg(args, 7, 1));
+                break;
+            case "edges":
+                EdgeListConverter.convert(path, Path.of(args[2]));
+                break;
+            case "info": {
+                DsaFile file = DsaFile.open(path);
+                System.out.printf("vertices=%d edges=%d weights=%b coordinates=%b grid=%dx%d metric=%d%n",
+                        file.vertexCount(), file.edgeCount(), file.has(DsaFile.WEIGHTS),
+                        file.has(DsaFile.COORDINATES), file.rows(), file.cols(), file.metric());
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown command: " + args[0] + " " + Arrays.toString(args));
+        }
+    }
+
+    private static int arg(String[] args, int index, int fallback) {
+        return args.length > index ? Integer.parseInt(args[index]) : fallback;
+    }
+}
@@ -0,0 +1,166 @@
+package com.ujjwol.dsa.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+
+// Streams a DSAB file (see DsaFile). The header fixes every section's offset up front, so sections can be
+// filled in any order, or side by side, through their own buffered Section writers; memory use stays
+// at one small buffer per section however large the file is.
+public final class DsaWriter implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final long[] offsets;
+    private final Section[] sections = new Section[DsaFile.END];
+
+    // Fills each row of the grid with raw maze characters
+    public interface RowSource {
+        void fill(int row, byte[] cells);
+    }
+
+    public DsaWriter(Path path, int flags, long vertices, long edges, int rows, int cols, int metric) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        offsets = DsaFile.layout(flags, vertices, edges, (long) rows * cols);
+
+        ByteBuffer header = ByteBuffer.allocate(DsaFile.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(DsaFile.MAGIC).putShort(DsaFile.VERSION).putShort((short) flags)
+                .putLong(vertices).putLong(edges).putInt(rows).putInt(cols).putInt(metric);
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        // Reserve the full length so a short write shows up as a truncated file, not a short one
+        if (offsets[DsaFile.END] > DsaFile.HEADER_BYTES) {
+            channel.write(ByteBuffer.allocate(1), offsets[DsaFile.END] - 1);
+        }
+    }
+
+    public Section from() {
+        return section(DsaFile.FROM);
+    }
+
+    public Section to() {
+        return section(DsaFile.TO);
+    }
+
+    public Section weights() {
+        return section(DsaFile.WEIGHT);
+    }
+
+    public Section x() {
+        return section(DsaFile.X);
+    }
+
+    public Section y() {
+        return section(DsaFile.Y);
+    }
+
+    public Section grid() {
+        return section(DsaFile.CELLS);
+    }
+
+    private Section section(int s) {
+        if (sections[s] == null) {
+            sections[s] = new Section(offsets[s]);
+        }
+        return sections[s];
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (Section section : sections) {
+                if (section != null) {
+                    section.flush();
+                }
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Sequential writer for one section
+    public final class Section {
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        private Section(long position) {
+            this.position = position;
+        }
+
+        public void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        public void putDouble(double value) throws IOException {
+            if (buffer.remaining() < 8) flush();
+            buffer.putDouble(value);
+        }
+
+        public void put(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) flush();
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Graph with optional weights; element i of each section comes from the matching function
+    public static void writeGraph(Path path, long vertices, long edges, LongToIntFunction from, LongToIntFunction to,
+                                  LongToIntFunction weight) throws IOException {
+        int flags = DsaFile.EDGES | (weight != null ? DsaFile.WEIGHTS : 0);
+        try (DsaWriter writer = new DsaWriter(path, flags, vertices, edges, 0, 0, DsaFile.METRIC_NONE)) {
+            Section fromSection = writer.from(), toSection = writer.to();
+            Section weightSection = weight != null ? writer.weights() : null;
+            for (long i = 0; i < edges; i++) {
+                fromSection.putInt(from.applyAsInt(i));
+                toSection.putInt(to.applyAsInt(i));
+                if (weightSection != null) {
+                    weightSection.putInt(weight.applyAsInt(i));
+                }
+            }
+        }
+    }
+
+    public static void writePoints(Path path, long vertices, int metric, LongToDoubleFunction x,
+                                   LongToDoubleFunction y) throws IOException {
+        try (DsaWriter writer = new DsaWriter(path, DsaFile.COORDINATES, vertices, 0, 0, 0, metric)) {
+            Section xSection = writer.x(), ySection = writer.y();
+            for (long i = 0; i < vertices; i++) {
+                xSection.putDouble(x.applyAsDouble(i));
+                ySection.putDouble(y.applyAsDouble(i));
+            }
+        }
+    }
+
+    public static void writeGrid(Path path, int rows, int cols, RowSource source) throws IOException {
+        try (DsaWriter writer = new DsaWriter(path, DsaFile.GRID, 0, 0, rows, cols, DsaFile.METRIC_NONE)) {
+            Section grid = writer.grid();
+            byte[] row = new byte[cols];
+            for (int r = 0; r < rows; r++) {
+                source.fill(r, row);
+                grid.put(row, 0, cols);
+            }
+        }
+    }
+}
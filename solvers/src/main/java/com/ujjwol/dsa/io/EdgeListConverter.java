@@ -0,0 +1,131 @@
+package com.ujjwol.dsa.io;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Converts a text edge list ("from to" or "from to weight" per line, '#' or '%' starts a comment line;
+// weights may be negative, vertex ids may not)
+// into a DSAB graph. The first pass counts edges and vertices, the second streams them into place,
+// so memory does not grow with the edge count.
+public class EdgeListConverter {
+
+    public static void convert(Path text, Path out) throws IOException {
+        long edges = 0;
+        int maxVertex = -1;
+        int columns = -1;
+        int[] line = new int[3];
+        try (LineReader reader = new LineReader(text)) {
+            int count;
+            while ((count = reader.next(line)) >= 0) {
+                if (count == 0) {
+                    continue;
+                }
+                checkColumns(count, columns, edges);
+                columns = count;
+                maxVertex = Math.max(maxVertex, Math.max(line[0], line[1]));
+                // Vertex counts are ids + 1 and the solvers index vertices with ints
+                if (maxVertex == Integer.MAX_VALUE) {
+                    throw new IOException("Edge " + edges + " uses vertex id " + Integer.MAX_VALUE
+                            + ", the largest allowed id is " + (Integer.MAX_VALUE - 1));
+                }
+                edges++;
+            }
+        }
+
+        boolean weighted = columns == 3;
+        int flags = DsaFile.EDGES | (weighted ? DsaFile.WEIGHTS : 0);
+        try (LineReader reader = new LineReader(text);
+             DsaWriter writer = new DsaWriter(out, flags, maxVertex + 1, edges, 0, 0, DsaFile.METRIC_NONE)) {
+            DsaWriter.Section from = writer.from(), to = writer.to();
+            DsaWriter.Section weight = weighted ? writer.weights() : null;
+            int count;
+            while ((count = reader.next(line)) >= 0) {
+                if (count == 0) {
+                    continue;
+                }
+                from.putInt(line[0]);
+                to.putInt(line[1]);
+                if (weighted) {
+                    weight.putInt(line[2]);
+                }
+            }
+        }
+    }
+
+    private static void checkColumns(int count, int columns, long edge) throws IOException {
+        if (count < 2) {
+            throw new IOException("Edge " + edge + " has only " + count + " value");
+        }
+        if (columns >= 0 && count != columns) {
+            throw new IOException("Edge " + edge + " has " + count + " values, earlier edges have " + columns);
+        }
+        if (count > 3) {
+            throw new IOException("Edge " + edge + " has more than 3 values");
+        }
+    }
+
+    // Reads lines of whitespace-separated ints, non-negative except in the weight column
+    private static class LineReader implements AutoCloseable {
+        private final InputStream in;
+
+        LineReader(Path path) throws IOException {
+            in = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+        }
+
+        // Values on the next line (0 for blank and comment lines), or -1 at the end of the file
+        int next(int[] values) throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return -1;
+            }
+            if (c == '#' || c == '%') {
+                while (c != -1 && c != '\n') {
+                    c = in.read();
+                }
+                return 0;
+            }
+            int count = 0;
+            while (c != -1 && c != '\n') {
+                if (c >= '0' && c <= '9' || c == '-') {
+                    // Only the weight column may be negative; vertex ids index arrays
+                    boolean negative = c == '-';
+                    if (negative) {
+                        if (count != 2) {
+                            throw new IOException("Negative vertex id in edge list");
+                        }
+                        c = in.read();
+                        if (c < '0' || c > '9') {
+                            throw new IOException("Expected a digit after '-' in edge list");
+                        }
+                    }
+                    long value = 0;
+                    long limit = negative ? Integer.MAX_VALUE + 1L : Integer.MAX_VALUE;
+                    while (c >= '0' && c <= '9') {
+                        value = value * 10 + (c - '0');
+                        if (value > limit) {
+                            throw new IOException("Value out of int range");
+                        }
+                        c = in.read();
+                    }
+                    if (count < values.length) {
+                        values[count] = (int) (negative ? -value : value);
+                    }
+                    count++;
+                } else if (c == ' ' || c == '\t' || c == '\r' || c == ',') {
+                    c = in.read();
+                } else {
+                    throw new IOException("Unexpected character '" + (char) c + "' in edge list");
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
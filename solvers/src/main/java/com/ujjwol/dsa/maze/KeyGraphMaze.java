@@ -0,0 +1,213 @@
+package com.ujjwol.dsa.maze;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Key-graph solver for the maze: instead of searching every (cell, keys) state it runs Dijkstra over
+// (point of interest, keys) states, where the points of interest are the start and the key cells.
+// Edge lengths come from BFS distance fields that are cached per (cell, doors that can be opened),
+// so the cost depends on the number of keys rather than on the size of the maze.
+// Keys are 'a'..'z' and doors 'A'..'Z' except 'W', which is a wall, so masks go beyond MazeGame's six keys.
+public class KeyGraphMaze {
+
+    static final byte WALL = -1;
+    static final byte OPEN = 0;
+    static final byte KEY = 1;   // KEY + k for key k
+    static final byte DOOR = 32; // DOOR + k for door k
+
+    final int width;
+    final byte[] codes;
+    final int startCell;
+    final long targetKeys;
+    final long doorMask;   // Doors present in the maze; other key bits never change a BFS
+    final long keyMask;    // Keys or doors present in the maze; no other held key changes an answer
+    final int[] keyCells;  // Points of interest besides the start
+    final long[] keyBits;
+
+    private final Map<Long, int[]> distanceCache = new HashMap<>();
+
+    public KeyGraphMaze(String[] grid) {
+        this(toBytes(grid), grid.length, grid[0].length());
+    }
+
+    // cells holds the raw maze characters row by row
+    public KeyGraphMaze(byte[] cells, int m, int n) {
+        width = n + 2;
+        codes = new byte[(m + 2) * width];
+        Arrays.fill(codes, WALL);
+
+        long target = 0, doors = 0, present = 0;
+        int start = width + 1;
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                char cell = (char) (cells[i * n + j] & 0xFF);
+                int index = (i + 1) * width + (j + 1);
+                if (cell == 'S') {
+                    start = index; // Never re-entered, same as MazeGame
+                } else if (cell == 'E') {
+                    target |= 1L << ('f' - 'a'); // Same exit rule as MazeGame
+                    codes[index] = OPEN;
+                } else if (cell == 'W') {
+                    continue; // Wall as in MazeGame, not door 'W'; the padding default already says so
+                } else if (cell == 'P') {
+                    codes[index] = OPEN;
+                } else if (cell >= 'a' && cell <= 'z') {
+                    target |= 1L << (cell - 'a');
+                    present |= 1L << (cell - 'a');
+                    codes[index] = (byte) (KEY + (cell - 'a'));
+                    keys.add(index);
+                } else if (cell >= 'A' && cell <= 'Z') {
+                    doors |= 1L << (cell - 'A');
+                    codes[index] = (byte) (DOOR + (cell - 'A'));
+                }
+            }
+        }
+        startCell = start;
+        doorMask = doors;
+        keyMask = doors | present;
+        // A required key that does not exist makes the target unreachable
+        targetKeys = (target & ~present) != 0 ? -1 : target;
+        keyCells = new int[keys.size()];
+        keyBits = new long[keys.size()];
+        for (int i = 0; i < keyCells.length; i++) {
+            keyCells[i] = keys.get(i);
+            keyBits[i] = 1L << (codes[keyCells[i]] - KEY);
+        }
+    }
+
+    private static byte[] toBytes(String[] grid) {
+        int n = grid[0].length();
+        byte[] cells = new byte[grid.length * n];
+        for (int i = 0; i < grid.length; i++) {
+            System.arraycopy(grid[i].getBytes(StandardCharsets.ISO_8859_1), 0, cells, i * n, n);
+        }
+        return cells;
+    }
+
+    public static int minStepsToCollectAllKeys(String[] grid) {
+        return new KeyGraphMaze(grid).minSteps();
+    }
+
+    public int minSteps() {
+        return minSteps(startCell, 0);
+    }
+
+    // Dijkstra over (cell, keys) where cell is the start cell or a key cell
+    public int minSteps(int fromCell, long heldKeys) {
+        if (targetKeys < 0) {
+            return -1;
+        }
+        if ((heldKeys & targetKeys) == targetKeys) {
+            return 0;
+        }
+
+        Map<Long, Integer> best = new HashMap<>();
+        PriorityQueue<long[]> pq = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        pq.offer(new long[]{0, fromCell, heldKeys}); // {steps, cell, keys}
+        best.put(state(fromCell, heldKeys), 0);
+
+        while (!pq.isEmpty()) {
+            long[] current = pq.poll();
+            int steps = (int) current[0];
+            int cell = (int) current[1];
+            long keys = current[2];
+            if (best.getOrDefault(state(cell, keys), Integer.MAX_VALUE) < steps) {
+                continue; // Stale entry
+            }
+            if ((keys & targetKeys) == targetKeys) {
+                return steps;
+            }
+
+            int[] distances = distancesFrom(cell, keys);
+            for (int k = 0; k < keyCells.length; k++) {
+                if ((keys & keyBits[k]) != 0 || distances[k] < 0) {
+                    continue; // Already held or unreachable with the current keys
+                }
+                long newKeys = keys | keyBits[k];
+                int newSteps = steps + distances[k];
+                long next = state(keyCells[k], newKeys);
+                if (newSteps < best.getOrDefault(next, Integer.MAX_VALUE)) {
+                    best.put(next, newSteps);
+                    pq.offer(new long[]{newSteps, keyCells[k], newKeys});
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static long state(int cell, long keys) {
+        return ((long) cell << 32) | keys;
+    }
+
+    // Distances from a cell to every key cell, walking only through doors the keys open
+    int[] distancesFrom(int cell, long keys) {
+        long cacheKey = state(cell, keys & doorMask);
+        int[] cached = distanceCache.get(cacheKey);
+        if (cached == null) {
+            cached = bfs(cell, keys & doorMask);
+            distanceCache.put(cacheKey, cached);
+        }
+        return cached;
+    }
+
+    // Plain BFS over cells. Keys are walked through without being picked up: a path that passes a key
+    // is never shorter than going to that key first, which Dijkstra also considers.
+    int[] bfs(int from, long openDoors) {
+        int[] distanceToKey = new int[keyCells.length];
+        Arrays.fill(distanceToKey, -1);
+        int[] distance = new int[codes.length];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[codes.length];
+        int head = 0, tail = 0;
+
+        distance[from] = 0;
+        queue[tail++] = from;
+        int[] offsets = {-width, width, -1, 1};
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int offset : offsets) {
+                int next = cell + offset;
+                int code = codes[next];
+                if (code == WALL || distance[next] >= 0) {
+                    continue;
+                }
+                if (code >= DOOR && (openDoors & (1L << (code - DOOR))) == 0) {
+                    continue;
+                }
+                distance[next] = distance[cell] + 1;
+                queue[tail++] = next;
+            }
+        }
+
+        for (int k = 0; k < keyCells.length; k++) {
+            distanceToKey[k] = distance[keyCells[k]];
+        }
+        return distanceToKey;
+    }
+
+    public static void main(String[] args) {
+        String[] grid = {"SPaPP", "WWWPW", "bPAPB"};
+        System.out.println("Minimum number of moves: " + minStepsToCollectAllKeys(grid)); // Output: 8
+
+        // Large, mostly empty maze with many keys: the cost follows the number of keys, not the cells
+        int size = 1000;
+        char[][] cells = new char[size][size];
+        for (char[] row : cells) {
+            Arrays.fill(row, 'P');
+        }
+        Random random = new Random(1);
+        cells[0][0] = 'S';
+        for (int k = 0; k < 12; k++) {
+            cells[1 + random.nextInt(size - 1)][random.nextInt(size)] = (char) ('a' + k);
+        }
+        String[] large = new String[size];
+        for (int i = 0; i < size; i++) {
+            large[i] = new String(cells[i]);
+        }
+
+        long start = System.nanoTime();
+        int steps = minStepsToCollectAllKeys(large);
+        System.out.printf("12 keys on %dx%d: %d moves in %.1f ms%n", size, size, steps, (System.nanoTime() - start) / 1e6);
+    }
+}
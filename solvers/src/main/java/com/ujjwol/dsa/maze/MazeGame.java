@@ -0,0 +1,209 @@
+package com.ujjwol.dsa.maze;
+
+import com.ujjwol.dsa.io.DsaFile;
+import com.ujjwol.dsa.metrics.Counter;
+import com.ujjwol.dsa.metrics.MetricsRegistry;
+import com.ujjwol.dsa.metrics.SolverEvents;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class MazeGame {
+
+    // Cell codes of the compact grid: walls, open cells, keys 'a'..'f' and doors 'A'..'F'
+    static final byte WALL = -1;
+    static final byte OPEN = 0;
+    static final byte KEY = 1;   // KEY + k for key k
+    static final byte DOOR = 8;  // DOOR + k for door k
+
+    private static final Counter SEARCHES = MetricsRegistry.counter("maze.searches");
+    private static final Counter STATES_EXPANDED = MetricsRegistry.counter("maze.states.expanded");
+
+    public static int minStepsToCollectAllKeys(String[] grid) {
+        int m = grid.length;
+        int n = grid[0].length();
+        byte[] cells = new byte[m * n];
+        for (int i = 0; i < m; i++) {
+            byte[] row = grid[i].getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(row, 0, cells, i * n, n);
+        }
+        return minStepsToCollectAllKeys(cells, m, n);
+    }
+
+    public static int minStepsToCollectAllKeys(byte[] cells, int m, int n) {
+        return minStepsToCollectAllKeys(ByteBuffer.wrap(cells), m, n);
+    }
+
+    // Maze from the grid section of a DSAB file, read straight from the mapping
+    public static int minStepsToCollectAllKeys(Path path) throws IOException {
+        DsaFile file = DsaFile.open(path);
+        return minStepsToCollectAllKeys(file.grid(), file.rows(), file.cols());
+    }
+
+    // BFS over packed (cell, keys) states; cells holds the raw maze characters row by row
+    public static int minStepsToCollectAllKeys(ByteBuffer cells, int m, int n) {
+        CompactMaze maze = new CompactMaze(cells, m, n);
+        int width = maze.width;
+        byte[] codes = maze.codes;
+        int start = maze.start;
+        int targetKeys = maze.targetKeys;
+        if (targetKeys == 0) {
+            return 0;
+        }
+
+        // One long per cell, bit k set when the cell was reached holding key set k
+        long[] visited = new long[codes.length];
+        visited[start] |= 1L;
+        IntRingBuffer queue = new IntRingBuffer(1024);
+        queue.add(start << 6); // state = cell << 6 | keys
+
+        int[] offsets = {-width, width, -1, 1};
+        int steps = 0;
+        long expanded = 0;
+        while (!queue.isEmpty()) {
+            // Expand a whole BFS level so the step count is not stored per state
+            int levelSize = queue.size();
+            steps++;
+            if (MetricsRegistry.ENABLED) {
+                expanded += levelSize;
+                SolverEvents.bfsLevel("MazeGame", steps, levelSize);
+            }
+            for (int s = 0; s < levelSize; s++) {
+                int state = queue.poll();
+                int cell = state >>> 6;
+                int keys = state & 63;
+
+                for (int offset : offsets) {
+                    int next = cell + offset;
+                    int code = codes[next];
+                    if (code == WALL) {
+                        continue;
+                    }
+                    int newKeys = keys;
+                    if (code >= DOOR) {
+                        if ((keys & (1 << (code - DOOR))) == 0) {
+                            continue; // Door without its key
+                        }
+                    } else if (code >= KEY) {
+                        newKeys |= 1 << (code - KEY); // Collect the key
+                    }
+
+                    long bit = 1L << newKeys;
+                    if ((visited[next] & bit) == 0) {
+                        if (newKeys == targetKeys) {
+                            recordSearch(expanded);
+                            return steps; // All keys collected, return the steps
+                        }
+                        visited[next] |= bit;
+                        queue.add(next << 6 | newKeys);
+                    }
+                }
+            }
+        }
+
+        recordSearch(expanded);
+        return -1; // All possible moves explored and keys not collected, return -1
+    }
+
+    private static void recordSearch(long expanded) {
+        if (MetricsRegistry.ENABLED) {
+            SEARCHES.increment();
+            STATES_EXPANDED.add(expanded);
+        }
+    }
+
+    // Maze converted to cell codes, padded with a wall border so neighbours never need bounds checks
+    static class CompactMaze {
+        final int width;
+        final byte[] codes;
+        final int start;
+        final int targetKeys;
+
+        CompactMaze(byte[] cells, int m, int n) {
+            this(ByteBuffer.wrap(cells), m, n);
+        }
+
+        CompactMaze(ByteBuffer cells, int m, int n) {
+            width = n + 2;
+            int paddedCells = (m + 2) * width;
+            if (paddedCells > (1 << 26)) {
+                throw new IllegalArgumentException("Maze too large for packed states: " + m + "x" + n);
+            }
+            codes = new byte[paddedCells];
+            Arrays.fill(codes, WALL);
+
+            int keys = 0;
+            int startCell = -1;
+
+            // Extract information from the grid and precompute passability
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    char cell = (char) (cells.get(i * n + j) & 0xFF);
+                    int index = (i + 1) * width + (j + 1);
+                    if (cell == 'S') {
+                        startCell = index; // The start cell itself is never re-entered
+                    } else if (cell == 'E') {
+                        keys |= (1 << ('f' - 'a')); // Set the bit for the exit door
+                        codes[index] = OPEN;
+                    } else if (cell == 'P') {
+                        codes[index] = OPEN;
+                    } else if (cell >= 'a' && cell <= 'f') {
+                        keys |= (1 << (cell - 'a')); // Set the bit for the key
+                        codes[index] = (byte) (KEY + (cell - 'a'));
+                    } else if (cell >= 'A' && cell <= 'F') {
+                        codes[index] = (byte) (DOOR + (cell - 'A'));
+                    }
+                }
+            }
+            // No 'S': start at the top-left corner like before
+            start = startCell >= 0 ? startCell : width + 1;
+            targetKeys = keys;
+        }
+    }
+
+    // Growable FIFO of ints backed by a power-of-two array
+    static class IntRingBuffer {
+        private int[] items;
+        private int head, size;
+
+        IntRingBuffer(int capacity) {
+            items = new int[Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(int value) {
+            if (size == items.length) {
+                int[] grown = new int[items.length * 2];
+                int firstPart = items.length - head;
+                System.arraycopy(items, head, grown, 0, firstPart);
+                System.arraycopy(items, 0, grown, firstPart, head);
+                items = grown;
+                head = 0;
+            }
+            items[(head + size++) & (items.length - 1)] = value;
+        }
+
+        int poll() {
+            int value = items[head];
+            head = (head + 1) & (items.length - 1);
+            size--;
+            return value;
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] grid = {"SPaPP", "WWWPW", "bPAPB"};
+        int result = minStepsToCollectAllKeys(grid);
+        System.out.println("Minimum number of moves: " + result); // Output: 8
+    }
+}
@@ -0,0 +1,24 @@
+package com.ujjwol.dsa.maze;
+
+import java.nio.charset.StandardCharsets;
+
+// Maze stored as one byte per cell, row by row, holding the raw maze characters
+class MazeGrid {
+    final int rows, cols;
+    final byte[] cells;
+
+    MazeGrid(int rows, int cols, byte[] cells) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = cells;
+    }
+
+    static MazeGrid of(String[] grid) {
+        int n = grid[0].length();
+        byte[] cells = new byte[grid.length * n];
+        for (int i = 0; i < grid.length; i++) {
+            System.arraycopy(grid[i].getBytes(StandardCharsets.ISO_8859_1), 0, cells, i * n, n);
+        }
+        return new MazeGrid(grid.length, n, cells);
+    }
+}
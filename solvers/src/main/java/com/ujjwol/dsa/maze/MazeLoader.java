@@ -0,0 +1,78 @@
+package com.ujjwol.dsa.maze;
+
+import com.ujjwol.dsa.io.DsaFile;
+import com.ujjwol.dsa.io.DsaWriter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Loads text maze files (one row per line) by memory-mapping them segment by segment
+public class MazeLoader {
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    public static MazeGrid load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("Maze file too large for a single byte grid: " + size + " bytes");
+            }
+            // The file size bounds the number of cells, so the grid is filled without resizing
+            byte[] cells = new byte[(int) size];
+            int rows = 0, cols = -1, col = 0, filled = 0;
+
+            for (long offset = 0; offset < size; offset += SEGMENT_BYTES) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(SEGMENT_BYTES, size - offset));
+                while (segment.hasRemaining()) {
+                    byte b = segment.get();
+                    if (b == '\r') {
+                        continue;
+                    }
+                    if (b == '\n') {
+                        if (col > 0) {
+                            cols = endRow(rows, cols, col);
+                            rows++;
+                        }
+                        col = 0;
+                        continue;
+                    }
+                    cells[filled++] = b;
+                    col++;
+                }
+            }
+            if (col > 0) {
+                cols = endRow(rows, cols, col); // Last line without a newline
+                rows++;
+            }
+            if (rows == 0) {
+                throw new IOException("Empty maze file: " + file);
+            }
+            return new MazeGrid(rows, cols, cells);
+        }
+    }
+
+    // Convert a text maze to the DSAB grid format
+    public static void toBinary(Path text, Path out) throws IOException {
+        MazeGrid grid = load(text);
+        DsaWriter.writeGrid(out, grid.rows, grid.cols,
+                (row, cells) -> System.arraycopy(grid.cells, row * grid.cols, cells, 0, grid.cols));
+    }
+
+    // Grid section of a DSAB file copied into a MazeGrid, for the solvers that need an array
+    public static MazeGrid loadBinary(Path path) throws IOException {
+        DsaFile file = DsaFile.open(path);
+        byte[] cells = new byte[file.rows() * file.cols()];
+        file.grid().get(cells);
+        return new MazeGrid(file.rows(), file.cols(), cells);
+    }
+
+    private static int endRow(int row, int cols, int col) throws IOException {
+        if (cols >= 0 && col != cols) {
+            throw new IOException("Row " + row + " has " + col + " cells, expected " + cols);
+        }
+        return col;
+    }
+}
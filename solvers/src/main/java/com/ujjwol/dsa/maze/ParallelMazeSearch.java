@@ -0,0 +1,282 @@
+package com.ujjwol.dsa.maze;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Level-synchronous BFS for large mazes, same rules and step counts as MazeGame.minStepsToCollectAllKeys.
+// Each level's frontier is split into chunks expanded in parallel; visited bits are set with CAS.
+// The bidirectional variant also searches backwards from every goal state (any cell holding all keys)
+// and stops when the two searches meet.
+public class ParallelMazeSearch {
+    private static final int CHUNK = 4096;
+    private static final int NOT_FOUND = -1;
+
+    private final MazeGame.CompactMaze maze;
+    private final int[] offsets;
+
+    public ParallelMazeSearch(MazeGrid grid) {
+        maze = new MazeGame.CompactMaze(grid.cells, grid.rows, grid.cols);
+        offsets = new int[]{-maze.width, maze.width, -1, 1};
+    }
+
+    public static int minSteps(MazeGrid grid) {
+        return new ParallelMazeSearch(grid).search();
+    }
+
+    public static int minStepsBidirectional(MazeGrid grid) {
+        return new ParallelMazeSearch(grid).searchBidirectional();
+    }
+
+    public int search() {
+        if (maze.targetKeys == 0) {
+            return 0;
+        }
+        AtomicLongArray visited = new AtomicLongArray(maze.codes.length);
+        visited.set(maze.start, 1L);
+        int[] frontier = {maze.start << 6};
+        int steps = 0;
+
+        while (frontier.length > 0) {
+            steps++;
+            Level next = expand(frontier, true, visited, null);
+            if (next.hit) {
+                return steps;
+            }
+            frontier = next.states;
+        }
+        return -1;
+    }
+
+    public int searchBidirectional() {
+        int target = maze.targetKeys;
+        if (target == 0) {
+            return 0;
+        }
+        byte[] codes = maze.codes;
+        AtomicLongArray forwardVisited = new AtomicLongArray(codes.length);
+        AtomicLongArray backwardVisited = new AtomicLongArray(codes.length);
+
+        forwardVisited.set(maze.start, 1L);
+        int[] forward = {maze.start << 6};
+
+        // Goal states: every enterable cell holding the full key set
+        int[] goals = IntStream.range(0, codes.length).filter(c -> codes[c] != MazeGame.WALL).toArray();
+        int[] backward = new int[goals.length];
+        for (int i = 0; i < goals.length; i++) {
+            backwardVisited.set(goals[i], 1L << target);
+            backward[i] = goals[i] << 6 | target;
+        }
+
+        int forwardDepth = 0, backwardDepth = 0;
+        while (forward.length > 0 && backward.length > 0) {
+            // Grow the smaller frontier; the first meeting is always at the optimal distance
+            boolean expandForward = forward.length <= backward.length;
+            Level next = expandForward
+                    ? expand(forward, true, forwardVisited, backwardVisited)
+                    : expand(backward, false, backwardVisited, forwardVisited);
+            if (expandForward) {
+                forwardDepth++;
+                forward = next.states;
+            } else {
+                backwardDepth++;
+                backward = next.states;
+            }
+            if (next.hit) {
+                return forwardDepth + backwardDepth;
+            }
+        }
+        return -1;
+    }
+
+    // Result of expanding one level
+    private static class Level {
+        final int[] states;
+        final boolean hit;
+
+        Level(int[] states, boolean hit) {
+            this.states = states;
+            this.hit = hit;
+        }
+    }
+
+    // Expand a frontier by one level. Forward searches stop on a goal state, or on a state the other
+    // search has visited when `other` is given; backward searches stop on a state the forward one visited.
+    private Level expand(int[] frontier, boolean forward, AtomicLongArray visited, AtomicLongArray other) {
+        int chunks = (frontier.length + CHUNK - 1) / CHUNK;
+        int[][] outputs = new int[chunks][];
+        int[] sizes = new int[chunks];
+        AtomicInteger hit = new AtomicInteger(NOT_FOUND);
+
+        IntStream chunkIndices = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            chunkIndices = chunkIndices.parallel();
+        }
+        chunkIndices.forEach(c -> {
+            int from = c * CHUNK;
+            int to = Math.min(frontier.length, from + CHUNK);
+            int[] out = new int[(to - from) * (forward ? 4 : 8)];
+            int size = 0;
+            for (int i = from; i < to && hit.get() == NOT_FOUND; i++) {
+                size = forward
+                        ? expandForward(frontier[i], visited, other, out, size, hit)
+                        : expandBackward(frontier[i], visited, other, out, size, hit);
+            }
+            outputs[c] = out;
+            sizes[c] = size;
+        });
+
+        if (hit.get() != NOT_FOUND) {
+            return new Level(new int[0], true);
+        }
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        int[] next = new int[total];
+        int position = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(outputs[c], 0, next, position, sizes[c]);
+            position += sizes[c];
+        }
+        return new Level(next, false);
+    }
+
+    private int expandForward(int state, AtomicLongArray visited, AtomicLongArray other, int[] out, int size,
+                              AtomicInteger hit) {
+        byte[] codes = maze.codes;
+        int cell = state >>> 6;
+        int keys = state & 63;
+        for (int offset : offsets) {
+            int next = cell + offset;
+            int code = codes[next];
+            if (code == MazeGame.WALL) {
+                continue;
+            }
+            int newKeys = keys;
+            if (code >= MazeGame.DOOR) {
+                if ((keys & (1 << (code - MazeGame.DOOR))) == 0) {
+                    continue;
+                }
+            } else if (code >= MazeGame.KEY) {
+                newKeys |= 1 << (code - MazeGame.KEY);
+            }
+            if (markVisited(visited, next, newKeys)) {
+                if (other == null ? newKeys == maze.targetKeys : (other.get(next) & (1L << newKeys)) != 0) {
+                    hit.set(next << 6 | newKeys);
+                    return size;
+                }
+                out[size++] = next << 6 | newKeys;
+            }
+        }
+        return size;
+    }
+
+    // Predecessors of (cell, keys): a neighbour p holding keys', where stepping from p onto cell is
+    // allowed with keys' and yields keys. p must itself be a consistent state: a key cell is only
+    // ever occupied holding its own key, and an 'S' start cell only with no keys.
+    private int expandBackward(int state, AtomicLongArray visited, AtomicLongArray other, int[] out, int size,
+                               AtomicInteger hit) {
+        byte[] codes = maze.codes;
+        int cell = state >>> 6;
+        int keys = state & 63;
+        int code = codes[cell];
+
+        int keysBefore = keys;
+        int alternative = -1;
+        if (code >= MazeGame.DOOR) {
+            if ((keys & (1 << (code - MazeGame.DOOR))) == 0) {
+                return size;
+            }
+        } else if (code >= MazeGame.KEY) {
+            // The key may have been picked up by this step or held already
+            alternative = keys & ~(1 << (code - MazeGame.KEY));
+        }
+
+        for (int offset : offsets) {
+            int previous = cell + offset;
+            int previousCode = codes[previous];
+            if (previousCode == MazeGame.WALL && previous != maze.start) {
+                continue;
+            }
+            for (int option = 0; option < 2; option++) {
+                int before = option == 0 ? keysBefore : alternative;
+                if (before < 0) {
+                    continue;
+                }
+                boolean startState = previous == maze.start && before == 0;
+                boolean keyHeld = previousCode < MazeGame.KEY || previousCode >= MazeGame.DOOR
+                        || (before & (1 << (previousCode - MazeGame.KEY))) != 0;
+                if (!startState && (previousCode == MazeGame.WALL || !keyHeld)) {
+                    continue;
+                }
+                if (markVisited(visited, previous, before)) {
+                    if ((other.get(previous) & (1L << before)) != 0) {
+                        hit.set(previous << 6 | before);
+                        return size;
+                    }
+                    out[size++] = previous << 6 | before;
+                }
+            }
+        }
+        return size;
+    }
+
+    // Set the visited bit for (cell, keys); true when this call set it
+    private static boolean markVisited(AtomicLongArray visited, int cell, int keys) {
+        long bit = 1L << keys;
+        long current = visited.get(cell);
+        while ((current & bit) == 0) {
+            if (visited.compareAndSet(cell, current, current | bit)) {
+                return true;
+            }
+            current = visited.get(cell);
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws IOException {
+        MazeGrid example = MazeGrid.of(new String[]{"SPaPP", "WWWPW", "bPAPB"});
+        System.out.println("Parallel: " + minSteps(example) + ", bidirectional: " + minStepsBidirectional(example)); // 8, 8
+
+        // Generate a large random maze file, load it through the mapped loader and compare solvers
+        int size = 2000;
+        Random random = new Random(4);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int r = random.nextInt(100);
+                char c = r < 25 ? 'W' : 'P';
+                if (r == 99) c = (char) ('a' + random.nextInt(6));
+                if (r == 98) c = (char) ('A' + random.nextInt(6));
+                text.append(i == 0 && j == 0 ? 'S' : c);
+            }
+            text.append('\n');
+        }
+        Path file = Files.createTempFile("maze", ".txt");
+        try {
+            Files.writeString(file, text);
+            MazeGrid grid = MazeLoader.load(file);
+
+            long start = System.nanoTime();
+            int sequential = MazeGame.minStepsToCollectAllKeys(grid.cells, grid.rows, grid.cols);
+            long sequentialTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            int parallel = minSteps(grid);
+            long parallelTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            int bidirectional = minStepsBidirectional(grid);
+            long bidirectionalTime = System.nanoTime() - start;
+
+            System.out.printf("%dx%d maze: sequential %d (%.0f ms), parallel %d (%.0f ms), bidirectional %d (%.0f ms)%n",
+                    size, size, sequential, sequentialTime / 1e6, parallel, parallelTime / 1e6,
+                    bidirectional, bidirectionalTime / 1e6);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.ujjwol.dsa.maze;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+// A maze parsed once and queried many times from different start positions.
+// For every key cell it caches a full BFS distance field (per set of openable doors), so a query is a
+// small Dijkstra over the keys with O(1) distance lookups. Finished answers go into a bounded LRU.
+// All methods are safe to call from multiple threads; distance fields are read without locks.
+public class PreparedMaze {
+    private final KeyGraphMaze maze;
+    private final int rows, cols;
+    private final LruCache<Long, Integer> results;
+
+    // Distance fields of every key for one set of open doors, filled in on first use
+    private static final class FieldSet {
+        final AtomicReferenceArray<int[]> fields;
+
+        FieldSet(int keys) {
+            fields = new AtomicReferenceArray<>(keys);
+        }
+    }
+
+    // Fields are bounded by bytes and dropped oldest first; a query already holding one keeps using it
+    private final Map<Long, FieldSet> fieldSets = new ConcurrentHashMap<>();
+    private final Queue<long[]> fieldOrder = new ConcurrentLinkedQueue<>(); // {open doors, key}
+    private final AtomicLong fieldBytes = new AtomicLong();
+    private final long maxFieldBytes;
+    private final long bytesPerField;
+
+    // Defaults: 256 MB of distance fields, 64K cached answers
+    public PreparedMaze(String[] grid) {
+        this(grid, 256L << 20, 1 << 16);
+    }
+
+    public PreparedMaze(String[] grid, long maxFieldBytes, int maxResults) {
+        this.maze = new KeyGraphMaze(grid);
+        this.rows = grid.length;
+        this.cols = grid[0].length();
+        this.maxFieldBytes = maxFieldBytes;
+        this.bytesPerField = 4L * maze.codes.length + 16;
+        this.results = new LruCache<>(maxResults);
+    }
+
+    // Minimum steps to collect all keys starting at (row, col) already holding heldKeys;
+    // -1 from a wall or a door heldKeys cannot open, since only the maze's own 'S' may be left without
+    // being enterable
+    public int minSteps(int row, int col, long heldKeys) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IllegalArgumentException("Start (" + row + ", " + col + ") is outside the " + rows + "x" + cols + " maze");
+        }
+        // Held keys the maze never mentions cannot matter, and bits above 31 would spill into the cell
+        // bits of the result and field keys
+        heldKeys &= maze.keyMask;
+        int startCell = (row + 1) * maze.width + (col + 1);
+        if (startCell != maze.startCell && !enterable(maze.codes[startCell], heldKeys)) {
+            return -1;
+        }
+        long resultKey = ((long) startCell << 32) | heldKeys;
+        Integer cached = results.get(resultKey);
+        if (cached != null) {
+            return cached;
+        }
+        int steps = solve(startCell, heldKeys);
+        results.put(resultKey, steps);
+        return steps;
+    }
+
+    private static boolean enterable(byte code, long heldKeys) {
+        if (code == KeyGraphMaze.WALL) {
+            return false;
+        }
+        return code < KeyGraphMaze.DOOR || (heldKeys & (1L << (code - KeyGraphMaze.DOOR))) != 0;
+    }
+
+    // Answer a batch of queries concurrently
+    public int[] minSteps(int[] rows, int[] cols, long[] heldKeys) {
+        return IntStream.range(0, rows.length).parallel()
+                .map(i -> minSteps(rows[i], cols[i], heldKeys[i]))
+                .toArray();
+    }
+
+    private int solve(int startCell, long heldKeys) {
+        long target = maze.targetKeys;
+        if (target < 0) {
+            return -1;
+        }
+        if ((heldKeys & target) == target) {
+            return 0;
+        }
+        int keyCount = maze.keyCells.length;
+
+        // Dijkstra over (position, keys); position keyCount stands for the start cell
+        Map<Long, Integer> best = new HashMap<>();
+        PriorityQueue<long[]> pq = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        pq.offer(new long[]{0, keyCount, heldKeys}); // {steps, position, keys}
+        best.put(((long) keyCount << 32) | heldKeys, 0);
+
+        FieldSet fieldSet = null;
+        long fieldSetDoors = 0;
+        while (!pq.isEmpty()) {
+            long[] current = pq.poll();
+            int steps = (int) current[0];
+            int position = (int) current[1];
+            long keys = current[2];
+            if (best.getOrDefault((current[1] << 32) | keys, Integer.MAX_VALUE) < steps) {
+                continue;
+            }
+            if ((keys & target) == target) {
+                return steps;
+            }
+
+            // One map lookup per node, none while the open doors stay the same
+            long openDoors = keys & maze.doorMask;
+            if (fieldSet == null || openDoors != fieldSetDoors) {
+                fieldSet = fieldSet(openDoors);
+                fieldSetDoors = openDoors;
+            }
+            for (int k = 0; k < keyCount; k++) {
+                if ((keys & maze.keyBits[k]) != 0) {
+                    continue;
+                }
+                int[] field = field(fieldSet, k, openDoors);
+                int distance = position == keyCount ? distanceFromStart(field, startCell) : field[maze.keyCells[position]];
+                if (distance < 0) {
+                    continue;
+                }
+                long newKeys = keys | maze.keyBits[k];
+                int newSteps = steps + distance;
+                long next = ((long) k << 32) | newKeys;
+                if (newSteps < best.getOrDefault(next, Integer.MAX_VALUE)) {
+                    best.put(next, newSteps);
+                    pq.offer(new long[]{newSteps, k, newKeys});
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Moves are reversible, except that the start cell itself may not be enterable (e.g. 'S'),
+    // so the distance from the start is one more than the best distance of its neighbours
+    private int distanceFromStart(int[] field, int startCell) {
+        if (field[startCell] == 0) {
+            return 0;
+        }
+        int best = -1;
+        int width = maze.width;
+        for (int neighbour : new int[]{startCell - width, startCell + width, startCell - 1, startCell + 1}) {
+            int d = field[neighbour];
+            if (d >= 0 && (best < 0 || d + 1 < best)) {
+                best = d + 1;
+            }
+        }
+        return best;
+    }
+
+    private FieldSet fieldSet(long openDoors) {
+        FieldSet set = fieldSets.get(openDoors);
+        return set != null ? set : fieldSets.computeIfAbsent(openDoors, d -> new FieldSet(maze.keyCells.length));
+    }
+
+    // BFS distance field from key k, walking only through the open doors. Two threads may build the
+    // same field at once; the first to publish it is the one that is kept and counted.
+    private int[] field(FieldSet set, int k, long openDoors) {
+        int[] field = set.fields.get(k);
+        if (field != null) {
+            return field;
+        }
+        field = bfs(maze.keyCells[k], openDoors);
+        if (set.fields.compareAndSet(k, null, field)) {
+            fieldOrder.add(new long[]{openDoors, k});
+            if (fieldBytes.addAndGet(bytesPerField) > maxFieldBytes) {
+                evictFields();
+            }
+        }
+        return field;
+    }
+
+    private void evictFields() {
+        while (fieldBytes.get() > maxFieldBytes) {
+            long[] oldest = fieldOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            FieldSet set = fieldSets.get(oldest[0]);
+            if (set != null && set.fields.getAndSet((int) oldest[1], null) != null) {
+                fieldBytes.addAndGet(-bytesPerField);
+            }
+        }
+    }
+
+    private int[] bfs(int from, long openDoors) {
+        byte[] codes = maze.codes;
+        int width = maze.width;
+        int[] distance = new int[codes.length];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[codes.length];
+        int head = 0, tail = 0;
+
+        distance[from] = 0;
+        queue[tail++] = from;
+        int[] offsets = {-width, width, -1, 1};
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int offset : offsets) {
+                int next = cell + offset;
+                int code = codes[next];
+                if (code == KeyGraphMaze.WALL || distance[next] >= 0) {
+                    continue;
+                }
+                if (code >= KeyGraphMaze.DOOR && (openDoors & (1L << (code - KeyGraphMaze.DOOR))) == 0) {
+                    continue;
+                }
+                distance[next] = distance[cell] + 1;
+                queue[tail++] = next;
+            }
+        }
+        return distance;
+    }
+
+    // Access-ordered LinkedHashMap that evicts the least recently used entry
+    private static class LruCache<K, V> {
+        private final Map<K, V> map;
+
+        LruCache(int capacity) {
+            map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        synchronized void put(K key, V value) {
+            map.put(key, value);
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] example = {"SPaPP", "WWWPW", "bPAPB"};
+        PreparedMaze prepared = new PreparedMaze(example);
+        System.out.println("From S: " + prepared.minSteps(0, 0, 0)); // Output: 8
+        System.out.println("From a wall: " + prepared.minSteps(1, 1, 0)); // Output: -1
+
+        // Static 1000x1000 map, many start positions
+        int size = 1000;
+        Random random = new Random(2);
+        char[][] cells = new char[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                cells[i][j] = random.nextInt(100) < 20 ? 'W' : 'P';
+            }
+        }
+        for (int k = 0; k < 8; k++) {
+            cells[random.nextInt(size)][random.nextInt(size)] = (char) ('a' + k);
+        }
+        for (int d = 0; d < 3; d++) {
+            cells[random.nextInt(size)][random.nextInt(size)] = (char) ('A' + d);
+        }
+        String[] grid = new String[size];
+        for (int i = 0; i < size; i++) {
+            grid[i] = new String(cells[i]);
+        }
+
+        int queries = 20_000;
+        int[] rows = new int[queries], cols = new int[queries];
+        long[] keys = new long[queries];
+        for (int q = 0; q < queries; q++) {
+            rows[q] = random.nextInt(size);
+            cols[q] = random.nextInt(size);
+        }
+
+        prepared = new PreparedMaze(grid);
+        long start = System.nanoTime();
+        prepared.minSteps(rows, cols, keys);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d queries in %.2f s: %.0f queries/sec (distance fields built on demand)%n",
+                queries, seconds, queries / seconds);
+
+        prepared = new PreparedMaze(grid, 256L << 20, 16);
+        prepared.minSteps(rows, cols, keys); // Warm the distance fields, results cache too small to help
+        start = System.nanoTime();
+        prepared.minSteps(rows, cols, keys);
+        seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d queries in %.2f s: %.0f queries/sec (warm distance fields)%n",
+                queries, seconds, queries / seconds);
+    }
+}
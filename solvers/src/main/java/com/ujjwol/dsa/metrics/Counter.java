@@ -0,0 +1,23 @@
+package com.ujjwol.dsa.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Monotonic counter; LongAdder keeps concurrent increments from contending on one cache line
+public final class Counter {
+    private final LongAdder adder = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long amount) {
+        adder.add(amount);
+    }
+
+    public long get() {
+        return adder.sum();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ujjwol.dsa.metrics;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Process-wide counters and histograms, published over JMX as com.ujjwol.dsa:type=Metrics.
+// Instrumentation is off unless the JVM starts with -Ddsa.instrumentation=true. Solvers guard every
+// measurement with `if (MetricsRegistry.ENABLED)`; the flag is a static final constant, so when it is
+// false the JIT removes the guarded code entirely.
+public final class MetricsRegistry {
+    public static final boolean ENABLED = Boolean.getBoolean("dsa.instrumentation");
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(new MetricsMBean(), new ObjectName("com.ujjwol.dsa:type=Metrics"));
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not register the metrics MBean", e);
+            }
+        }
+    }
+
+    private MetricsRegistry() {
+    }
+
+    // Same instance for the same name; cheap enough to hold in a static final field
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    // Every metric flattened to name -> value; a histogram h appears as h.count, h.mean, h.p50, h.p99, h.p999, h.max
+    public static Map<String, Number> snapshot() {
+        Map<String, Number> values = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.get()));
+        HISTOGRAMS.forEach((name, histogram) -> {
+            values.put(name + ".count", histogram.count());
+            values.put(name + ".mean", histogram.mean());
+            values.put(name + ".p50", histogram.quantile(0.5));
+            values.put(name + ".p99", histogram.quantile(0.99));
+            values.put(name + ".p999", histogram.quantile(0.999));
+            values.put(name + ".max", histogram.max());
+        });
+        return values;
+    }
+
+    // Read-only MBean whose attributes are the snapshot entries, so new metrics show up without registration
+    private static final class MetricsMBean implements DynamicMBean {
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Number value = snapshot().get(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            Map<String, Number> values = snapshot();
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                if (values.containsKey(attribute)) {
+                    list.add(new Attribute(attribute, values.get(attribute)));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            Map<String, Number> values = snapshot();
+            MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+            int i = 0;
+            for (Map.Entry<String, Number> entry : values.entrySet()) {
+                attributes[i++] = new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+                        entry.getKey(), true, false, false);
+            }
+            return new MBeanInfo(MetricsRegistry.class.getName(), "Solver counters and histograms",
+                    attributes, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ujjwol.dsa.metrics;
+
+import jdk.jfr.*;
+
+// JDK Flight Recorder events for the solvers. They are only created when MetricsRegistry.ENABLED is set,
+// and JFR drops them cheaply unless a recording is running, e.g.
+// java -Ddsa.instrumentation=true -XX:StartFlightRecording=filename=solvers.jfr ...
+public final class SolverEvents {
+
+    private SolverEvents() {
+    }
+
+    @Name("com.ujjwol.dsa.AcoIteration")
+    @Label("ACO Iteration")
+    @Category({"DSA", "TSP"})
+    public static final class AcoIteration extends Event {
+        @Label("Iteration")
+        public int iteration;
+
+        @Label("Best Tour Length")
+        public double bestTourLength;
+
+        @Label("Next-City Selection Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long selectNanos;
+
+        @Label("Pheromone Update Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long updateNanos;
+
+        @Label("Evaporation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long evaporateNanos;
+    }
+
+    @Name("com.ujjwol.dsa.BfsLevel")
+    @Label("BFS Level")
+    @Category({"DSA", "Search"})
+    public static final class BfsLevel extends Event {
+        @Label("Solver")
+        public String solver;
+
+        @Label("Level")
+        public int level;
+
+        @Label("Frontier Size")
+        public int frontier;
+    }
+
+    @Name("com.ujjwol.dsa.MstPhase")
+    @Label("MST Phase")
+    @Category({"DSA", "MST"})
+    public static final class MstPhase extends Event {
+        @Label("Phase")
+        public String phase;
+
+        @Label("Edges")
+        public int edges;
+
+        @Label("Find Calls")
+        public long findCalls;
+    }
+
+    @Name("com.ujjwol.dsa.Download")
+    @Label("Image Download")
+    @Category({"DSA", "Network"})
+    public static final class Download extends Event {
+        @Label("URL")
+        public String url;
+
+        @Label("Response Code")
+        public int responseCode;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+    }
+
+    public static void bfsLevel(String solver, int level, int frontier) {
+        BfsLevel event = new BfsLevel();
+        if (event.isEnabled()) {
+            event.solver = solver;
+            event.level = level;
+            event.frontier = frontier;
+            event.commit();
+        }
+    }
+}
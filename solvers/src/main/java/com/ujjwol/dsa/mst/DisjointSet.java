@@ -0,0 +1,50 @@
+package com.ujjwol.dsa.mst;
+
+import com.ujjwol.dsa.metrics.MetricsRegistry;
+
+// Class to represent a disjoint set for union-find operations
+class DisjointSet {
+    int[] parent, rank;
+    long findCalls; // Only counted when instrumentation is enabled
+
+    public DisjointSet(int n) {
+        parent = new int[n];
+        rank = new int[n];
+        // Initialize each node as a separate set with rank 0
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+    }
+
+    // Find the set to which a node belongs (iterative, with path halving)
+    public int find(int x) {
+        if (MetricsRegistry.ENABLED) {
+            findCalls++;
+        }
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    // Union two sets (with union by rank)
+    public void union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+
+        if (rootX == rootY) return;
+
+        // Attach smaller rank tree under root of high rank tree
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            // If ranks are the same, make one as root and increment its rank
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+    }
+}
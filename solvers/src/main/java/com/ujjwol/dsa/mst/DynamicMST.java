@@ -0,0 +1,337 @@
+package com.ujjwol.dsa.mst;
+
+import java.util.*;
+
+// Maintains a minimum spanning forest under edge insertions and weight decreases.
+// The forest is kept in a link-cut tree where every edge is a node of its own, so the heaviest
+// edge on a tree path is an O(log n) amortized query. An update only touches that path.
+public class DynamicMST {
+    private static final int NIL = -1;
+
+    private final int numVertices;
+
+    // Edge endpoints and weights, indexed by edge id (ids follow insertion order like KruskalMST)
+    private int[] sources, destinations, weights;
+    private int numEdges;
+
+    // Position of each edge in treeList, or NIL when it is not in the forest
+    private int[] treePosition;
+    private int[] treeList;
+    private int treeSize;
+    private long totalWeight;
+
+    // Link-cut tree over numVertices vertex nodes followed by one node per edge
+    private int[] left, right, parent, maxNode;
+    private boolean[] reversed;
+    private long[] key;
+    private int[] splayStack = new int[64];
+
+    public DynamicMST(int numVertices) {
+        this.numVertices = numVertices;
+        int edgeCapacity = 16;
+        sources = new int[edgeCapacity];
+        destinations = new int[edgeCapacity];
+        weights = new int[edgeCapacity];
+        treePosition = new int[edgeCapacity];
+        treeList = new int[Math.max(numVertices - 1, 1)];
+
+        int nodes = numVertices + edgeCapacity;
+        left = new int[nodes];
+        right = new int[nodes];
+        parent = new int[nodes];
+        maxNode = new int[nodes];
+        reversed = new boolean[nodes];
+        key = new long[nodes];
+        for (int v = 0; v < numVertices; v++) {
+            initNode(v, Long.MIN_VALUE); // Vertices never win a path-maximum query
+        }
+    }
+
+    // Insert an edge and return its id; the forest is repaired immediately
+    public int addEdge(int source, int destination, int weight) {
+        ensureEdgeCapacity(numEdges + 1);
+        int edge = numEdges++;
+        sources[edge] = source;
+        destinations[edge] = destination;
+        weights[edge] = weight;
+        treePosition[edge] = NIL;
+        initNode(numVertices + edge, edgeKey(edge));
+        offer(edge);
+        return edge;
+    }
+
+    // Lower the weight of an existing edge; increases would need deletions and are rejected
+    public void decreaseWeight(int edge, int newWeight) {
+        if (newWeight > weights[edge]) {
+            throw new IllegalArgumentException("Only weight decreases are supported");
+        }
+        int node = numVertices + edge;
+        if (treePosition[edge] != NIL) {
+            totalWeight -= weights[edge] - (long) newWeight;
+            weights[edge] = newWeight;
+            // A lighter tree edge keeps the forest minimal, only the path maxima change
+            splay(node);
+            key[node] = edgeKey(edge);
+            pushUp(node);
+        } else {
+            weights[edge] = newWeight;
+            key[node] = edgeKey(edge);
+            offer(edge);
+        }
+    }
+
+    private void offer(int edge) {
+        int u = sources[edge];
+        int v = destinations[edge];
+        if (u == v) {
+            return;
+        }
+        if (findRoot(u) != findRoot(v)) {
+            link(edge);
+            return;
+        }
+
+        // Cycle: swap out the heaviest edge on the tree path if the new one is lighter
+        makeRoot(u);
+        access(v);
+        splay(v);
+        int heaviest = maxNode[v] - numVertices;
+        if (edgeKey(edge) < edgeKey(heaviest)) {
+            cut(heaviest);
+            link(edge);
+        }
+    }
+
+    private void link(int edge) {
+        int node = numVertices + edge;
+        makeRoot(sources[edge]);
+        parent[sources[edge]] = node;
+        makeRoot(node);
+        parent[node] = destinations[edge];
+
+        treePosition[edge] = treeSize;
+        treeList[treeSize++] = edge;
+        totalWeight += weights[edge];
+    }
+
+    private void cut(int edge) {
+        int node = numVertices + edge;
+        cutNodes(node, sources[edge]);
+        cutNodes(node, destinations[edge]);
+
+        // Swap-remove from the tree list
+        int position = treePosition[edge];
+        int last = treeList[--treeSize];
+        treeList[position] = last;
+        treePosition[last] = position;
+        treePosition[edge] = NIL;
+        totalWeight -= weights[edge];
+    }
+
+    public boolean connected(int u, int v) {
+        return findRoot(u) == findRoot(v);
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public int getTreeSize() {
+        return treeSize;
+    }
+
+    // Copy of the current forest in Kruskal order; O(V log V), independent of the number of edges seen
+    public List<Edge> snapshot() {
+        long[] keys = new long[treeSize];
+        for (int i = 0; i < treeSize; i++) {
+            keys[i] = edgeKey(treeList[i]);
+        }
+        Arrays.sort(keys);
+        List<Edge> mst = new ArrayList<>(treeSize);
+        for (long k : keys) {
+            int edge = (int) k;
+            mst.add(new Edge(sources[edge], destinations[edge], weights[edge]));
+        }
+        return mst;
+    }
+
+    // Same (weight, id) total order as KruskalMST's stable sort
+    private long edgeKey(int edge) {
+        return ((long) weights[edge] << 32) | edge;
+    }
+
+    // ---- Link-cut tree primitives ----
+
+    private void initNode(int x, long value) {
+        left[x] = right[x] = parent[x] = NIL;
+        reversed[x] = false;
+        key[x] = value;
+        maxNode[x] = x;
+    }
+
+    private boolean isRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void pushUp(int x) {
+        int best = x;
+        if (left[x] != NIL && key[maxNode[left[x]]] > key[best]) {
+            best = maxNode[left[x]];
+        }
+        if (right[x] != NIL && key[maxNode[right[x]]] > key[best]) {
+            best = maxNode[right[x]];
+        }
+        maxNode[x] = best;
+    }
+
+    private void pushDown(int x) {
+        if (reversed[x]) {
+            int l = left[x];
+            left[x] = right[x];
+            right[x] = l;
+            if (left[x] != NIL) reversed[left[x]] ^= true;
+            if (right[x] != NIL) reversed[right[x]] ^= true;
+            reversed[x] = false;
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean pIsRoot = isRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NIL) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NIL) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pIsRoot) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        pushUp(p);
+        pushUp(x);
+    }
+
+    // Iterative splay; pending reversals are pushed down from the splay root first
+    private void splay(int x) {
+        int depth = 0;
+        for (int y = x; ; y = parent[y]) {
+            if (depth == splayStack.length) {
+                splayStack = Arrays.copyOf(splayStack, depth * 2);
+            }
+            splayStack[depth++] = y;
+            if (isRoot(y)) break;
+        }
+        while (depth > 0) {
+            pushDown(splayStack[--depth]);
+        }
+
+        while (!isRoot(x)) {
+            int p = parent[x];
+            if (!isRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pushUp(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        reversed[x] ^= true;
+        pushDown(x);
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        pushDown(x);
+        while (left[x] != NIL) {
+            x = left[x];
+            pushDown(x);
+        }
+        splay(x);
+        return x;
+    }
+
+    private void cutNodes(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // x and y are adjacent, so after access(y) the auxiliary tree is just y with x as its left child
+        left[y] = NIL;
+        parent[x] = NIL;
+        pushUp(y);
+    }
+
+    private void ensureEdgeCapacity(int required) {
+        if (required <= sources.length) {
+            return;
+        }
+        int capacity = Math.max(required, sources.length * 2);
+        sources = Arrays.copyOf(sources, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        treePosition = Arrays.copyOf(treePosition, capacity);
+
+        int nodes = numVertices + capacity;
+        left = Arrays.copyOf(left, nodes);
+        right = Arrays.copyOf(right, nodes);
+        parent = Arrays.copyOf(parent, nodes);
+        maxNode = Arrays.copyOf(maxNode, nodes);
+        reversed = Arrays.copyOf(reversed, nodes);
+        key = Arrays.copyOf(key, nodes);
+    }
+
+    public static void main(String[] args) {
+        int vertices = 2_000;
+        int updates = 200_000;
+        Random random = new Random(3);
+
+        DynamicMST dynamic = new DynamicMST(vertices);
+        KruskalMST reference = new KruskalMST(vertices);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            if (i > 0 && random.nextInt(10) == 0) {
+                int edge = random.nextInt(dynamic.numEdges);
+                int newWeight = dynamic.weights[edge] - random.nextInt(100);
+                dynamic.decreaseWeight(edge, newWeight);
+                reference.weights[edge] = newWeight;
+            } else {
+                int u = random.nextInt(vertices), v = random.nextInt(vertices), w = random.nextInt(100_000);
+                dynamic.addEdge(u, v, w);
+                reference.addEdge(u, v, w);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%d updates in %.1f ms (%.2f us/update)%n", updates, elapsed / 1e6, elapsed / 1e3 / updates);
+
+        List<Edge> expected = reference.findMST();
+        List<Edge> actual = dynamic.snapshot();
+        boolean matches = expected.size() == actual.size();
+        for (int i = 0; matches && i < expected.size(); i++) {
+            Edge a = expected.get(i), b = actual.get(i);
+            matches = a.source == b.source && a.destination == b.destination && a.weight == b.weight;
+        }
+        System.out.println("Tree edges: " + actual.size() + ", total weight: " + dynamic.getTotalWeight()
+                + ", matches KruskalMST: " + matches);
+    }
+}
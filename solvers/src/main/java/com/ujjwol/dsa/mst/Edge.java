@@ -0,0 +1,18 @@
+package com.ujjwol.dsa.mst;
+
+// Class to represent an edge in the graph
+class Edge implements Comparable<Edge> {
+    int source, destination, weight;
+
+    public Edge(int source, int destination, int weight) {
+        this.source = source;
+        this.destination = destination;
+        this.weight = weight;
+    }
+
+    // Compare edges based on their weights
+    @Override
+    public int compareTo(Edge other) {
+        return Integer.compare(this.weight, other.weight);
+    }
+}
@@ -0,0 +1,415 @@
+package com.ujjwol.dsa.mst;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Out-of-core Kruskal over a binary edge file that does not fit in the heap.
+// Edge file: consecutive 12-byte records (source, destination, weight), big-endian ints.
+//
+// Phase 1 maps the file chunk by chunk, sorts each chunk by weight and writes it out as a run.
+// Phase 2 merges at most maxFanIn runs at a time, in extra passes if there are more, and feeds the final
+// merge to a DisjointSet until the tree is complete.
+// Memory is O(vertices) plus three chunks of 20 bytes per edge plus 2 * ioBufferBytes of direct buffers per
+// merged run, so it is bounded by the settings and never grows with the edge count; so is the fd count.
+public class ExternalMST {
+    static final int RECORD_BYTES = 12;
+
+    private final int numVertices;
+    private final int chunkEdges;
+    private final int ioBufferBytes;
+    private final int maxFanIn;
+    private final Path runParent;
+
+    // Defaults: 1M-edge chunks (~60 MB for the three in flight), 256 KB buffers and a fan-in of 32 (~16 MB)
+    public ExternalMST(int numVertices) {
+        this(numVertices, 1 << 20, 256 << 10, 32, null);
+    }
+
+    public ExternalMST(int numVertices, int chunkEdges, int ioBufferBytes) {
+        this(numVertices, chunkEdges, ioBufferBytes, 32, null);
+    }
+
+    // runParent is where the temporary run directory goes, null for the default temp directory
+    public ExternalMST(int numVertices, int chunkEdges, int ioBufferBytes, int maxFanIn, Path runParent) {
+        if (chunkEdges < 1 || maxFanIn < 2) {
+            throw new IllegalArgumentException("Chunks need at least one edge and merges at least two runs");
+        }
+        this.numVertices = numVertices;
+        this.chunkEdges = chunkEdges;
+        // Whole records per buffer so a record never straddles two reads
+        this.ioBufferBytes = Math.max(RECORD_BYTES, ioBufferBytes / RECORD_BYTES * RECORD_BYTES);
+        this.maxFanIn = maxFanIn;
+        this.runParent = runParent;
+    }
+
+    public List<Edge> findMST(Path edgeFile) throws IOException {
+        Path runDirectory = runParent == null ? Files.createTempDirectory("mst-runs")
+                : Files.createTempDirectory(runParent, "mst-runs");
+        ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "mst-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Path> runs = reduceRuns(createSortedRuns(edgeFile, runDirectory, io), runDirectory, io);
+            return mergeRuns(runs, io);
+        } finally {
+            io.shutdownNow();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(runDirectory)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(runDirectory);
+        }
+    }
+
+    // ---- Phase 1: sorted runs ----
+
+    // One chunk of edges in primitive arrays, reused between reads
+    private static class Chunk {
+        final int[] sources, destinations, weights;
+        final long[] keys;
+        int size;
+
+        Chunk(int capacity) {
+            sources = new int[capacity];
+            destinations = new int[capacity];
+            weights = new int[capacity];
+            keys = new long[capacity];
+        }
+    }
+
+    private List<Path> createSortedRuns(Path edgeFile, Path runDirectory, ExecutorService io) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(edgeFile, StandardOpenOption.READ)) {
+            long totalEdges = channel.size() / RECORD_BYTES;
+            long chunkCount = (totalEdges + chunkEdges - 1) / chunkEdges;
+
+            // Three chunks rotate: one being read ahead, one being sorted, one being written
+            Chunk[] pool = {new Chunk(chunkEdges), new Chunk(chunkEdges), new Chunk(chunkEdges)};
+            Future<?> pendingRead = chunkCount > 0 ? io.submit(readChunk(channel, 0, totalEdges, pool[0])) : null;
+            Future<?> pendingWrite = null;
+
+            for (long c = 0; c < chunkCount; c++) {
+                Chunk chunk = pool[(int) (c % 3)];
+                await(pendingRead);
+                if (c + 1 < chunkCount) {
+                    pendingRead = io.submit(readChunk(channel, c + 1, totalEdges, pool[(int) ((c + 1) % 3)]));
+                }
+
+                sortChunk(chunk);
+
+                Path run = runDirectory.resolve("run-" + c + ".bin");
+                runs.add(run);
+                await(pendingWrite);
+                pendingWrite = io.submit(writeRun(chunk, run));
+            }
+            await(pendingWrite);
+        }
+        return runs;
+    }
+
+    private Callable<Void> readChunk(FileChannel channel, long chunkIndex, long totalEdges, Chunk chunk) {
+        return () -> {
+            long firstEdge = chunkIndex * chunkEdges;
+            int count = (int) Math.min(chunkEdges, totalEdges - firstEdge);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, firstEdge * RECORD_BYTES,
+                    (long) count * RECORD_BYTES);
+            for (int i = 0; i < count; i++) {
+                chunk.sources[i] = mapped.getInt();
+                chunk.destinations[i] = mapped.getInt();
+                chunk.weights[i] = mapped.getInt();
+            }
+            chunk.size = count;
+            return null;
+        };
+    }
+
+    // Sort by (weight, position) so runs are stable, which keeps ties in file order like KruskalMST
+    private static void sortChunk(Chunk chunk) {
+        for (int i = 0; i < chunk.size; i++) {
+            chunk.keys[i] = ((long) chunk.weights[i] << 32) | i;
+        }
+        Arrays.parallelSort(chunk.keys, 0, chunk.size);
+    }
+
+    private Callable<Void> writeRun(Chunk chunk, Path run) {
+        return () -> {
+            try (FileChannel out = FileChannel.open(run, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(ioBufferBytes);
+                for (int i = 0; i < chunk.size; i++) {
+                    if (buffer.remaining() < RECORD_BYTES) {
+                        drain(out, buffer);
+                    }
+                    int edge = (int) chunk.keys[i];
+                    buffer.putInt(chunk.sources[edge]).putInt(chunk.destinations[edge]).putInt(chunk.weights[edge]);
+                }
+                drain(out, buffer);
+            }
+            return null;
+        };
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // ---- Phase 2: bounded k-way merges, the last one into Kruskal ----
+
+    // Sequential run reader with two buffers: one is consumed while the other is filled in the background
+    private class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ExecutorService io;
+        private ByteBuffer front = ByteBuffer.allocateDirect(ioBufferBytes);
+        private ByteBuffer back = ByteBuffer.allocateDirect(ioBufferBytes);
+        private Future<Integer> pendingFill;
+        private boolean exhausted;
+        int source, destination, weight;
+
+        RunReader(Path run, ExecutorService io) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.io = io;
+            front.flip(); // Start empty
+            pendingFill = io.submit(fill(back));
+        }
+
+        private Callable<Integer> fill(ByteBuffer buffer) {
+            return () -> {
+                buffer.clear();
+                int total = 0;
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer);
+                    if (read < 0) break;
+                    total += read;
+                }
+                buffer.flip();
+                return total;
+            };
+        }
+
+        boolean next() throws IOException {
+            if (!front.hasRemaining()) {
+                if (exhausted) {
+                    return false;
+                }
+                int filled = await(pendingFill);
+                ByteBuffer swap = front;
+                front = back;
+                back = swap;
+                if (filled < ioBufferBytes) {
+                    exhausted = true;
+                } else {
+                    pendingFill = io.submit(fill(back));
+                }
+                if (!front.hasRemaining()) {
+                    return false;
+                }
+            }
+            source = front.getInt();
+            destination = front.getInt();
+            weight = front.getInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // A merge that stops early can leave a read in flight; let it finish before the channel goes
+            if (!exhausted) {
+                try {
+                    await(pendingFill);
+                } catch (IOException ignored) {
+                    // Closing anyway
+                }
+            }
+            channel.close();
+        }
+    }
+
+    // Receives merged edges in (weight, file position) order; returning false stops the merge
+    private interface EdgeSink {
+        boolean accept(int source, int destination, int weight) throws IOException;
+    }
+
+    // Merge passes over consecutive groups of at most maxFanIn runs until one merge can take them all.
+    // Runs stay in file order and ties go to the earlier run, so equal weights keep their file order.
+    private List<Path> reduceRuns(List<Path> runs, Path runDirectory, ExecutorService io) throws IOException {
+        for (int pass = 0; runs.size() > maxFanIn; pass++) {
+            List<Path> merged = new ArrayList<>();
+            for (int first = 0; first < runs.size(); first += maxFanIn) {
+                List<Path> group = runs.subList(first, Math.min(runs.size(), first + maxFanIn));
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                    continue;
+                }
+                Path run = runDirectory.resolve("pass-" + pass + "-run-" + merged.size() + ".bin");
+                try (FileChannel out = FileChannel.open(run, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(ioBufferBytes);
+                    merge(group, io, (source, destination, weight) -> {
+                        if (buffer.remaining() < RECORD_BYTES) {
+                            drain(out, buffer);
+                        }
+                        buffer.putInt(source).putInt(destination).putInt(weight);
+                        return true;
+                    });
+                    drain(out, buffer);
+                }
+                // Free the disk space as soon as the inputs are merged
+                for (Path input : group) {
+                    Files.delete(input);
+                }
+                merged.add(run);
+            }
+            runs = merged;
+        }
+        return runs;
+    }
+
+    private List<Edge> mergeRuns(List<Path> runs, ExecutorService io) throws IOException {
+        DisjointSet ds = new DisjointSet(numVertices);
+        List<Edge> mst = new ArrayList<>();
+        merge(runs, io, (source, destination, weight) -> {
+            int sourceRoot = ds.find(source);
+            int destRoot = ds.find(destination);
+            if (sourceRoot != destRoot) {
+                mst.add(new Edge(source, destination, weight));
+                ds.union(sourceRoot, destRoot);
+            }
+            return mst.size() < numVertices - 1;
+        });
+        return mst;
+    }
+
+    private void merge(List<Path> runs, ExecutorService io, EdgeSink sink) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        // Binary heap of run indices ordered by (current weight, run index)
+        int[] heap = new int[k];
+        int heapSize = 0;
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new RunReader(runs.get(r), io);
+                if (readers[r].next()) {
+                    heap[heapSize] = r;
+                    siftUp(heap, heapSize++, readers);
+                }
+            }
+
+            while (heapSize > 0) {
+                RunReader top = readers[heap[0]];
+                if (!sink.accept(top.source, top.destination, top.weight)) {
+                    break;
+                }
+                if (!top.next()) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, readers);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static boolean less(RunReader[] readers, int a, int b) {
+        int wa = readers[a].weight, wb = readers[b].weight;
+        return wa != wb ? wa < wb : a < b;
+    }
+
+    private static void siftUp(int[] heap, int i, RunReader[] readers) {
+        while (i > 0) {
+            int p = (i - 1) / 2;
+            if (!less(readers, heap[i], heap[p])) break;
+            int swap = heap[i]; heap[i] = heap[p]; heap[p] = swap;
+            i = p;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, RunReader[] readers) {
+        int i = 0;
+        while (true) {
+            int l = 2 * i + 1, r = l + 1, smallest = i;
+            if (l < size && less(readers, heap[l], heap[smallest])) smallest = l;
+            if (r < size && less(readers, heap[r], heap[smallest])) smallest = r;
+            if (smallest == i) break;
+            int swap = heap[i]; heap[i] = heap[smallest]; heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for disk I/O");
+        }
+    }
+
+    // Write edges in the binary format read by findMST
+    public static void writeEdgeFile(Path file, int[] sources, int[] destinations, int[] weights, int count)
+            throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (int i = 0; i < count; i++) {
+                out.writeInt(sources[i]);
+                out.writeInt(destinations[i]);
+                out.writeInt(weights[i]);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int vertices = 100_000;
+        int edges = 3_000_000;
+        Random random = new Random(11);
+
+        KruskalMST graph = new KruskalMST(vertices, edges);
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(1_000_000));
+        }
+        Path edgeFile = Files.createTempFile("edges", ".bin");
+        try {
+            writeEdgeFile(edgeFile, graph.sources, graph.destinations, graph.weights, graph.numEdges);
+
+            // Small chunks and a fan-in of 4 force several runs and an extra merge pass
+            long start = System.nanoTime();
+            List<Edge> external = new ExternalMST(vertices, 200_000, 1 << 20, 4, edgeFile.getParent())
+                    .findMST(edgeFile);
+            long elapsed = System.nanoTime() - start;
+
+            List<Edge> expected = graph.findMST();
+            boolean matches = external.size() == expected.size();
+            for (int i = 0; matches && i < expected.size(); i++) {
+                Edge a = expected.get(i), b = external.get(i);
+                matches = a.source == b.source && a.destination == b.destination && a.weight == b.weight;
+            }
+            System.out.printf("External MST: %d edges in %.1f ms, matches KruskalMST: %b%n",
+                    external.size(), elapsed / 1e6, matches);
+        } finally {
+            Files.deleteIfExists(edgeFile);
+        }
+    }
+}
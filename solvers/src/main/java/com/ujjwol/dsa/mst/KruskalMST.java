@@ -0,0 +1,217 @@
+package com.ujjwol.dsa.mst;
+
+import com.ujjwol.dsa.io.DsaFile;
+import com.ujjwol.dsa.metrics.Counter;
+import com.ujjwol.dsa.metrics.Histogram;
+import com.ujjwol.dsa.metrics.MetricsRegistry;
+import com.ujjwol.dsa.metrics.SolverEvents;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+public class KruskalMST {
+    // Edges are stored in parallel primitive arrays (12 bytes per edge, no object headers)
+    int[] sources, destinations, weights;
+    int numEdges;
+    int numVertices;
+
+    private static final Counter FIND_CALLS = MetricsRegistry.counter("mst.find.calls");
+    private static final Histogram SORT_NANOS = MetricsRegistry.histogram("mst.sort.nanos");
+    private static final Histogram UNION_FIND_NANOS = MetricsRegistry.histogram("mst.unionFind.nanos");
+
+    public KruskalMST(int numVertices) {
+        this(numVertices, 16);
+    }
+
+    public KruskalMST(int numVertices, int expectedEdges) {
+        this.numVertices = numVertices;
+        int capacity = Math.max(expectedEdges, 1);
+        sources = new int[capacity];
+        destinations = new int[capacity];
+        weights = new int[capacity];
+    }
+
+    public void addEdge(int source, int destination, int weight) {
+        ensureCapacity(numEdges + 1);
+        sources[numEdges] = source;
+        destinations[numEdges] = destination;
+        weights[numEdges] = weight;
+        numEdges++;
+    }
+
+    // Bulk insertion, copies whole arrays instead of one edge at a time
+    public void addEdges(int[] source, int[] destination, int[] weight) {
+        int count = source.length;
+        if (destination.length != count || weight.length != count) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        ensureCapacity(numEdges + count);
+        System.arraycopy(source, 0, sources, numEdges, count);
+        System.arraycopy(destination, 0, destinations, numEdges, count);
+        System.arraycopy(weight, 0, weights, numEdges, count);
+        numEdges += count;
+    }
+
+    // Bulk insertion from buffer views, e.g. the mapped sections of a DSAB file
+    public void addEdges(IntBuffer source, IntBuffer destination, IntBuffer weight) {
+        int count = source.remaining();
+        if (destination.remaining() != count || weight.remaining() != count) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        ensureCapacity(numEdges + count);
+        source.duplicate().get(sources, numEdges, count);
+        destination.duplicate().get(destinations, numEdges, count);
+        weight.duplicate().get(weights, numEdges, count);
+        numEdges += count;
+    }
+
+    // Weighted graph from a DSAB file
+    public static KruskalMST load(Path path) throws IOException {
+        return load(DsaFile.open(path));
+    }
+
+    public static KruskalMST load(DsaFile file) throws IOException {
+        if (!file.has(DsaFile.WEIGHTS)) {
+            throw new IOException("Graph has no weights");
+        }
+        if (file.vertexCount() > Integer.MAX_VALUE || file.edgeCount() > Integer.MAX_VALUE - 8) {
+            throw new IOException("Graph too large for in-memory Kruskal");
+        }
+        KruskalMST graph = new KruskalMST((int) file.vertexCount(), (int) file.edgeCount());
+        graph.addEdges(file.from(), file.to(), file.weights());
+        return graph;
+    }
+
+    public int getNumEdges() {
+        return numEdges;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= sources.length) {
+            return;
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, sources.length * 2L));
+        sources = Arrays.copyOf(sources, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+    }
+
+    public List<Edge> findMST() {
+        int[] tree = findMSTEdgeIndices();
+        List<Edge> mst = new ArrayList<>(tree.length);
+        for (int edge : tree) {
+            mst.add(new Edge(sources[edge], destinations[edge], weights[edge]));
+        }
+        return mst;
+    }
+
+    // Tree edges as positions in insertion order, lightest first; lets callers that still hold the
+    // input arrays or buffers read the edges back without an Edge object per tree edge
+    public int[] findMSTEdgeIndices() {
+        // Sort edge indices by weight (stable, so equal weights keep insertion order)
+        long phaseStart = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+        SolverEvents.MstPhase phase = startPhase("sort");
+        int[] order = sortedEdgeOrder();
+        endPhase(phase, phaseStart, SORT_NANOS, 0);
+
+        phaseStart = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+        phase = startPhase("union-find");
+
+        DisjointSet ds = new DisjointSet(numVertices);
+
+        int[] tree = new int[Math.max(0, Math.min(numEdges, numVertices - 1))];
+        int size = 0;
+
+        for (int i = 0; i < numEdges && size < numVertices - 1; i++) {
+            int edge = order[i];
+
+            int sourceRoot = ds.find(sources[edge]);
+            int destRoot = ds.find(destinations[edge]);
+
+            // If including this edge does not cause a cycle, add it to the MST
+            if (sourceRoot != destRoot) {
+                tree[size++] = edge;
+                ds.union(sourceRoot, destRoot);
+            }
+        }
+
+        endPhase(phase, phaseStart, UNION_FIND_NANOS, ds.findCalls);
+        return size == tree.length ? tree : Arrays.copyOf(tree, size);
+    }
+
+    // Null when instrumentation is off
+    private SolverEvents.MstPhase startPhase(String phase) {
+        if (!MetricsRegistry.ENABLED) {
+            return null;
+        }
+        SolverEvents.MstPhase event = new SolverEvents.MstPhase();
+        event.phase = phase;
+        event.edges = numEdges;
+        event.begin();
+        return event;
+    }
+
+    private static void endPhase(SolverEvents.MstPhase event, long startNanos, Histogram nanos, long findCalls) {
+        if (MetricsRegistry.ENABLED) {
+            nanos.record(System.nanoTime() - startNanos);
+            FIND_CALLS.add(findCalls);
+            event.findCalls = findCalls;
+            event.commit();
+        }
+    }
+
+    // LSD radix sort of edge indices on the weight, 8 bits per pass
+    int[] sortedEdgeOrder() {
+        int[] order = new int[numEdges];
+        for (int i = 0; i < numEdges; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[numEdges];
+        int[] count = new int[256];
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < numEdges; i++) {
+                count[digit(weights[i], shift)]++;
+            }
+            // Skip passes where every weight has the same digit
+            if (numEdges == 0 || count[digit(weights[0], shift)] == numEdges) {
+                continue;
+            }
+            for (int d = 1; d < 256; d++) {
+                count[d] += count[d - 1];
+            }
+            for (int i = numEdges - 1; i >= 0; i--) {
+                int edge = order[i];
+                buffer[--count[digit(weights[edge], shift)]] = edge;
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    // Flip the sign bit so negative weights sort before positive ones
+    private static int digit(int weight, int shift) {
+        return ((weight ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+    }
+
+    public static void main(String[] args) {
+        KruskalMST graph = new KruskalMST(4);
+        graph.addEdge(0, 1, 10);
+        graph.addEdge(0, 2, 6);
+        graph.addEdge(0, 3, 5);
+        graph.addEdge(1, 3, 15);
+        graph.addEdge(2, 3, 4);
+
+        List<Edge> mst = graph.findMST();
+
+        System.out.println("Edges in MST:");
+        for (Edge edge : mst) {
+            System.out.println(edge.source + " - " + edge.destination + ": " + edge.weight);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.ujjwol.dsa.mst;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Alternative MST engine over the edge arrays of a KruskalMST graph.
+// Edges are ordered by (weight, insertion index), the same total order KruskalMST's stable sort uses,
+// so every strategy returns exactly the same edges in the same order as KruskalMST.findMST.
+public class ParallelMST {
+
+    public enum Strategy { KRUSKAL, FILTER_KRUSKAL, BORUVKA }
+
+    // Below this many edges the plain sorted scan is fastest
+    private static final int SEQUENTIAL_THRESHOLD = 100_000;
+    // Filter-Kruskal sorts partitions of this size directly
+    private static final int FILTER_BASE_CASE = 4096;
+    private static final int PARALLEL_CHUNK = 1 << 14;
+
+    public static Strategy chooseStrategy(KruskalMST graph) {
+        int edges = graph.numEdges;
+        int vertices = Math.max(graph.numVertices, 1);
+        if (edges < SEQUENTIAL_THRESHOLD) {
+            return Strategy.KRUSKAL;
+        }
+        // Dense graphs: most edges end up inside a component and get filtered without sorting
+        if (edges / vertices >= 32) {
+            return Strategy.FILTER_KRUSKAL;
+        }
+        // Sparse graphs: few Boruvka rounds, each one parallel over the edges, pays off with enough cores
+        if (Runtime.getRuntime().availableProcessors() >= 8) {
+            return Strategy.BORUVKA;
+        }
+        return Strategy.KRUSKAL;
+    }
+
+    public static List<Edge> findMST(KruskalMST graph) {
+        return findMST(graph, chooseStrategy(graph));
+    }
+
+    public static List<Edge> findMST(KruskalMST graph, Strategy strategy) {
+        int[] tree = findMSTEdgeIndices(graph, strategy);
+        List<Edge> mst = new ArrayList<>(tree.length);
+        for (int edge : tree) {
+            mst.add(new Edge(graph.sources[edge], graph.destinations[edge], graph.weights[edge]));
+        }
+        return mst;
+    }
+
+    // Indices into the graph's edge arrays, in the order KruskalMST.findMSTEdgeIndices returns them
+    public static int[] findMSTEdgeIndices(KruskalMST graph, Strategy strategy) {
+        switch (strategy) {
+            case FILTER_KRUSKAL:
+                return new ParallelMST(graph).filterKruskal();
+            case BORUVKA:
+                return new ParallelMST(graph).boruvka();
+            default:
+                return graph.findMSTEdgeIndices();
+        }
+    }
+
+    private final int[] sources, destinations, weights;
+    private final int numEdges, numVertices;
+    private final DisjointSet ds;
+    private int[] treeEdges;
+    private int treeSize;
+    // Tree size at the last flattenRoots; unchanged means every parent already is a root
+    private int flattenedSize = -1;
+
+    private ParallelMST(KruskalMST graph) {
+        this.sources = graph.sources;
+        this.destinations = graph.destinations;
+        this.weights = graph.weights;
+        this.numEdges = graph.numEdges;
+        this.numVertices = graph.numVertices;
+        this.ds = new DisjointSet(numVertices);
+        this.treeEdges = new int[Math.max(numVertices - 1, 0)];
+    }
+
+    // Weight in the high half, index in the low half: comparing keys compares (weight, index)
+    private long key(int edge) {
+        return ((long) weights[edge] << 32) | edge;
+    }
+
+    private boolean done() {
+        return treeSize >= numVertices - 1;
+    }
+
+    private int[] filterKruskal() {
+        int[] all = new int[numEdges];
+        for (int i = 0; i < numEdges; i++) {
+            all[i] = i;
+        }
+        filterKruskal(all, 0, numEdges, new Random(numEdges));
+        return result();
+    }
+
+    private void filterKruskal(int[] edges, int from, int to, Random random) {
+        if (done() || from >= to) {
+            return;
+        }
+        if (to - from <= FILTER_BASE_CASE) {
+            kruskalBaseCase(edges, from, to);
+            return;
+        }
+
+        // Partition around a random pivot: light edges [from, mid), heavy edges [mid, to)
+        long pivot = key(edges[from + random.nextInt(to - from)]);
+        int mid = from;
+        for (int i = from; i < to; i++) {
+            if (key(edges[i]) <= pivot) {
+                int swap = edges[i];
+                edges[i] = edges[mid];
+                edges[mid++] = swap;
+            }
+        }
+        if (mid == to) {
+            // Pivot was the maximum, so it goes to the heavy side alone
+            mid--;
+            int maxIndex = from;
+            for (int i = from; i < to; i++) {
+                if (key(edges[i]) > key(edges[maxIndex])) {
+                    maxIndex = i;
+                }
+            }
+            int swap = edges[maxIndex];
+            edges[maxIndex] = edges[mid];
+            edges[mid] = swap;
+        }
+
+        filterKruskal(edges, from, mid, random);
+        if (done()) {
+            return;
+        }
+
+        // Drop heavy edges whose endpoints are already connected before sorting them
+        int kept = filter(edges, mid, to);
+        filterKruskal(edges, mid, mid + kept, random);
+    }
+
+    private void kruskalBaseCase(int[] edges, int from, int to) {
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = key(edges[i]);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length && !done(); i++) {
+            addIfJoins((int) keys[i]);
+        }
+    }
+
+    // Compact the edges that still cross components to the front of the range. Small ranges use find
+    // directly; only ranges filtered in parallel need flat roots, and only when a union happened since the
+    // last flattening, so the O(V) pass is paid at most once per parallel filter instead of once per call.
+    private int filter(int[] edges, int from, int to) {
+        if (to - from < PARALLEL_CHUNK) {
+            int kept = from;
+            for (int i = from; i < to; i++) {
+                int edge = edges[i];
+                if (ds.find(sources[edge]) != ds.find(destinations[edge])) {
+                    edges[kept++] = edge;
+                }
+            }
+            return kept - from;
+        }
+        flattenRoots();
+        int[] parent = ds.parent;
+        int[] survivors = IntStream.range(from, to).parallel()
+                .map(i -> edges[i])
+                .filter(edge -> parent[sources[edge]] != parent[destinations[edge]])
+                .toArray();
+        System.arraycopy(survivors, 0, edges, from, survivors.length);
+        return survivors.length;
+    }
+
+    private int[] boruvka() {
+        int[] active = IntStream.range(0, numEdges).toArray();
+        int activeCount = numEdges;
+        AtomicLongArray best = new AtomicLongArray(numVertices);
+
+        while (activeCount > 0 && !done()) {
+            flattenRoots();
+            int[] parent = ds.parent;
+            IntStream.range(0, numVertices).parallel().forEach(v -> best.set(v, Long.MAX_VALUE));
+
+            // Minimum-edge selection: every crossing edge competes for both of its components
+            int[] edges = active;
+            IntStream.range(0, activeCount).parallel().forEach(i -> {
+                int edge = edges[i];
+                int rootU = parent[sources[edge]];
+                int rootV = parent[destinations[edge]];
+                if (rootU != rootV) {
+                    long k = key(edge);
+                    lowerTo(best, rootU, k);
+                    lowerTo(best, rootV, k);
+                }
+            });
+
+            // Contraction: the components' lightest edges are gathered in parallel, then joined in order;
+            // only the unions run sequentially, one per remaining component
+            long[] lightest = IntStream.range(0, numVertices).parallel()
+                    .mapToLong(best::get)
+                    .filter(k -> k != Long.MAX_VALUE)
+                    .toArray();
+            for (long k : lightest) {
+                addIfJoins((int) k);
+            }
+
+            // Remove edges that became internal to a component
+            activeCount = filter(active, 0, activeCount);
+        }
+        return result();
+    }
+
+    private static void lowerTo(AtomicLongArray best, int index, long key) {
+        long current = best.get(index);
+        while (key < current && !best.compareAndSet(index, current, key)) {
+            current = best.get(index);
+        }
+    }
+
+    private void addIfJoins(int edge) {
+        int rootU = ds.find(sources[edge]);
+        int rootV = ds.find(destinations[edge]);
+        if (rootU != rootV) {
+            ds.union(rootU, rootV);
+            treeEdges[treeSize++] = edge;
+        }
+    }
+
+    // Point every vertex directly at its root so parallel phases can read roots without writing.
+    // The parallel pass only ever replaces a parent by an ancestor on the same path, so concurrent walks
+    // still end at the same root.
+    private void flattenRoots() {
+        if (flattenedSize == treeSize) {
+            return;
+        }
+        int[] parent = ds.parent;
+        IntStream.range(0, numVertices).parallel().forEach(v -> {
+            int root = v;
+            while (parent[root] != root) {
+                root = parent[root];
+            }
+            parent[v] = root;
+        });
+        flattenedSize = treeSize;
+    }
+
+    private int[] result() {
+        long[] keys = new long[treeSize];
+        for (int i = 0; i < treeSize; i++) {
+            keys[i] = key(treeEdges[i]);
+        }
+        Arrays.sort(keys);
+        int[] tree = new int[treeSize];
+        for (int i = 0; i < treeSize; i++) {
+            tree[i] = (int) keys[i];
+        }
+        return tree;
+    }
+
+    // Checks every strategy against KruskalMST.findMSTEdgeIndices on generated graphs of different
+    // densities, with few distinct weights so ties are everywhere, and fails on the first difference
+    public static void main(String[] args) {
+        int[][] shapes = { // vertices, edges, distinct weights
+                {1_000, 5_000, 1000}, {1_000, 5_000, 2}, {50_000, 400_000, 1000}, {50_000, 400_000, 4},
+                {20_000, 2_000_000, 1000}, {20_000, 2_000_000, 3}, {200_000, 1_000_000, 1000},
+                {300_000, 200_000, 5}, // disconnected: fewer edges than vertices
+        };
+        Random random = new Random(7);
+
+        for (int[] shape : shapes) {
+            int vertices = shape[0];
+            int edges = shape[1];
+            KruskalMST graph = new KruskalMST(vertices, edges);
+            for (int i = 0; i < edges; i++) {
+                graph.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(shape[2]) - shape[2] / 2);
+            }
+
+            int[] expected = graph.findMSTEdgeIndices();
+            System.out.println("V=" + vertices + " E=" + edges + " weights=" + shape[2] + " auto=" + chooseStrategy(graph));
+            for (Strategy strategy : Strategy.values()) {
+                long start = System.nanoTime();
+                int[] tree = findMSTEdgeIndices(graph, strategy);
+                long elapsed = System.nanoTime() - start;
+                if (!Arrays.equals(expected, tree)) {
+                    throw new IllegalStateException(strategy + " differs from KruskalMST on V=" + vertices
+                            + " E=" + edges + " weights=" + shape[2]);
+                }
+                System.out.printf("  %-15s %8.1f ms  edges=%d  matches KruskalMST%n", strategy, elapsed / 1e6, tree.length);
+            }
+        }
+    }
+}
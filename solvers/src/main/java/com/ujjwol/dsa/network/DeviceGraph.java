@@ -0,0 +1,192 @@
+package com.ujjwol.dsa.network;
+
+import com.ujjwol.dsa.io.DsaFile;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Immutable device topology in compressed sparse row form, built once and queried many times.
+// Internally devices are dense indices 0..nodeCount-1; children of index v are child[offset[v] .. offset[v + 1]).
+// Device ids may be any int. Ids that are already small and non-negative are used as indices directly,
+// anything else (sparse, huge or negative ids) is compacted through the sorted id table and mapped back
+// on output, so memory follows the number of devices rather than the largest id.
+public class DeviceGraph {
+    private final int nodeCount;
+    private final int[] ids; // Device id of each index, null when index and id are the same
+    private final int[] offset;
+    private final int[] child;
+    private final int[] inDegree;
+
+    // Per-thread traversal buffers, so concurrent queries do not allocate O(V) each time
+    private final ThreadLocal<Scratch> scratch;
+
+    private static final class Scratch {
+        final long[] visited;
+        int[] stack = new int[64];
+        int[] touched = new int[64];
+
+        Scratch(int nodeCount) {
+            visited = new long[(nodeCount + 63) >>> 6];
+        }
+    }
+
+    public DeviceGraph(int[] from, int[] to) {
+        this(IntBuffer.wrap(from), IntBuffer.wrap(to));
+    }
+
+    // Two passes over the edge views: count children per parent, then place them.
+    // Children keep the order of the edge list. The views may be mapped straight from a file.
+    public DeviceGraph(IntBuffer from, IntBuffer to) {
+        int edges = from.remaining();
+        if (to.remaining() != edges) {
+            throw new IllegalArgumentException("from and to differ in length");
+        }
+        int f0 = from.position(), t0 = to.position();
+        int min = 0, max = -1;
+        for (int i = 0; i < edges; i++) {
+            int parent = from.get(f0 + i), device = to.get(t0 + i);
+            min = Math.min(min, Math.min(parent, device));
+            max = Math.max(max, Math.max(parent, device));
+        }
+        int[] source = new int[edges], target = new int[edges];
+        from.duplicate().position(f0).get(source);
+        to.duplicate().position(t0).get(target);
+        // Dense enough when indexing by id wastes at most a constant factor over the edge count
+        if (min >= 0 && max < 2L * edges + 64) {
+            ids = null;
+            nodeCount = max + 1;
+        } else {
+            ids = distinctIds(source, target);
+            nodeCount = ids.length;
+            for (int i = 0; i < edges; i++) {
+                source[i] = Arrays.binarySearch(ids, source[i]);
+                target[i] = Arrays.binarySearch(ids, target[i]);
+            }
+        }
+
+        offset = new int[nodeCount + 1];
+        inDegree = new int[nodeCount];
+        for (int i = 0; i < edges; i++) {
+            offset[source[i] + 1]++;
+            inDegree[target[i]]++;
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            offset[v + 1] += offset[v];
+        }
+        child = new int[edges];
+        int[] next = Arrays.copyOf(offset, nodeCount);
+        for (int i = 0; i < edges; i++) {
+            child[next[source[i]]++] = target[i];
+        }
+        scratch = ThreadLocal.withInitial(() -> new Scratch(nodeCount));
+    }
+
+    // Graph from the edge sections of a DSAB file
+    public static DeviceGraph load(Path path) throws IOException {
+        DsaFile file = DsaFile.open(path);
+        return new DeviceGraph(file.from(), file.to());
+    }
+
+    // Sorted distinct ids of both endpoint arrays
+    private static int[] distinctIds(int[] source, int[] target) {
+        int[] all = Arrays.copyOf(source, source.length + target.length);
+        System.arraycopy(target, 0, all, source.length, target.length);
+        Arrays.sort(all);
+        int size = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (size == 0 || all[i] != all[size - 1]) {
+                all[size++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, size);
+    }
+
+    // Index of a device id, or -1 if the device has no links
+    private int index(int device) {
+        if (ids == null) {
+            return device >= 0 && device < nodeCount ? device : -1;
+        }
+        int index = Arrays.binarySearch(ids, device);
+        return index >= 0 ? index : -1;
+    }
+
+    public static DeviceGraph fromEdges(int[][] edges) {
+        int[] from = new int[edges.length];
+        int[] to = new int[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            from[i] = edges[i][0];
+            to[i] = edges[i][1];
+        }
+        return new DeviceGraph(from, to);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int inDegree(int device) {
+        int index = index(device);
+        return index >= 0 ? inDegree[index] : 0;
+    }
+
+    // Devices reachable from target that have exactly one parent, in depth-first preorder.
+    // Each device is visited once, so shared descendants and cycles cost nothing extra.
+    public int[] soleParentDescendants(int device) {
+        int target = index(device);
+        if (target < 0) {
+            return new int[0];
+        }
+        Scratch s = scratch.get();
+        long[] visited = s.visited;
+        int[] result = new int[16];
+        int found = 0;
+        int touched = 0;
+        int depth = 0;
+        s.stack[depth++] = target;
+
+        while (depth > 0) {
+            int node = s.stack[--depth];
+            if ((visited[node >>> 6] & (1L << node)) != 0) {
+                continue;
+            }
+            visited[node >>> 6] |= 1L << node;
+            if (touched == s.touched.length) {
+                s.touched = Arrays.copyOf(s.touched, touched * 2);
+            }
+            s.touched[touched++] = node;
+
+            if (node != target && inDegree[node] == 1) {
+                if (found == result.length) {
+                    result = Arrays.copyOf(result, found * 2);
+                }
+                result[found++] = ids == null ? node : ids[node];
+            }
+            // Push children in reverse so the first child is visited first, as in the recursive version
+            int first = offset[node], last = offset[node + 1];
+            if (depth + last - first > s.stack.length) {
+                s.stack = Arrays.copyOf(s.stack, Math.max(s.stack.length * 2, depth + last - first));
+            }
+            for (int i = last - 1; i >= first; i--) {
+                if ((visited[child[i] >>> 6] & (1L << child[i])) == 0) {
+                    s.stack[depth++] = child[i];
+                }
+            }
+        }
+
+        // Clear only the bits this query set
+        for (int i = 0; i < touched; i++) {
+            visited[s.touched[i] >>> 6] = 0;
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    // Many targets against the same graph, answered in parallel
+    public int[][] soleParentDescendants(int[] targets) {
+        return IntStream.range(0, targets.length).parallel()
+                .mapToObj(i -> soleParentDescendants(targets[i]))
+                .toArray(int[][]::new);
+    }
+}
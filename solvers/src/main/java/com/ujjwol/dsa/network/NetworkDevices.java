@@ -0,0 +1,59 @@
+package com.ujjwol.dsa.network;
+
+import java.util.*;
+
+public class NetworkDevices {
+
+    // Each device is reported once, in depth-first order from target
+    public static List<Integer> findNodesWithOnlyTargetAsParent(int[][] edges, int target) {
+        int[] nodes = DeviceGraph.fromEdges(edges).soleParentDescendants(target);
+        List<Integer> result = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            result.add(node);
+        }
+        return result;
+    }
+
+    public static void main(String[] args) {
+        int[][] edges = { { 0, 1 }, { 0, 2 }, { 1, 3 }, { 1, 6 }, { 2, 4 }, { 4, 6 }, { 4, 5 }, { 5, 7 } };
+        int target = 4;
+
+        List<Integer> uniqueParents = findNodesWithOnlyTargetAsParent(edges, target);
+
+        System.out.print("Nodes whose only parent is " + target + ": {");
+        for (int i = 0; i < uniqueParents.size(); i++) {
+            System.out.print(uniqueParents.get(i));
+            if (i < uniqueParents.size() - 1) {
+                System.out.print(", ");
+            }
+        }
+        System.out.println("}");
+
+        // One graph, many queries: a layered DAG where every device has two parents in the layer above
+        int layers = 100, width = 500;
+        int edgeCount = 2 * (layers - 1) * width + width;
+        int[] from = new int[edgeCount], to = new int[edgeCount];
+        Random random = new Random(9);
+        int e = 0;
+        for (int l = 1; l < layers; l++) {
+            for (int i = 0; i < width; i++) {
+                int node = l * width + i;
+                from[e] = (l - 1) * width + i;
+                to[e++] = node;
+                from[e] = (l - 1) * width + random.nextInt(width);
+                to[e++] = node;
+            }
+        }
+        // A chain of single-parent devices hanging off the first layer
+        for (int i = 0; i < width; i++) {
+            from[e] = i;
+            to[e++] = layers * width + i;
+        }
+        DeviceGraph graph = new DeviceGraph(from, to);
+        int[] targets = random.ints(1000, 0, width).toArray();
+        long start = System.nanoTime();
+        int[][] answers = graph.soleParentDescendants(targets);
+        System.out.printf("%d queries on %d devices / %d links in %.2f s (first answer size %d)%n",
+                targets.length, graph.nodeCount(), edgeCount, (System.nanoTime() - start) / 1e9, answers[0].length);
+    }
+}
\ No newline at end of file
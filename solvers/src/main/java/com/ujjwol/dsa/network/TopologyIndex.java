@@ -0,0 +1,310 @@
+package com.ujjwol.dsa.network;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+// Long-lived index over a changing device topology: for every device, the children whose only parent it is.
+// Link events update in-degrees in place. The XOR of a device's parents equals its sole parent once its
+// in-degree is 1, so a removal finds the remaining parent without scanning. Every event is O(1): a child
+// has at most one sole parent, so its slot in that parent's set is kept per child and removal swaps in
+// the last member. Writers are serialized; readers never take the writers' lock and copy a parent's set
+// optimistically, waiting only if they raced with a change to that same parent.
+public class TopologyIndex {
+    private static final int[] NONE = new int[0];
+
+    // Sole children of one parent in no particular order, guarded for readers by a StampedLock
+    private static final class ChildSet {
+        final StampedLock lock = new StampedLock();
+        int[] members = new int[4];
+        int size;
+
+        // Safe to call without the lock: torn fields only produce a copy that validate() rejects
+        int[] copy() {
+            int[] current = members;
+            return Arrays.copyOf(current, Math.max(0, Math.min(size, current.length)));
+        }
+    }
+
+    private final LinkCounts multiplicity = new LinkCounts(); // Parallel links count separately
+    private volatile AtomicIntegerArray inDegree = new AtomicIntegerArray(16);
+    private int[] parentXor = new int[16];
+    private int[] slot = new int[16]; // Position of each child in its sole parent's set
+    private volatile AtomicReferenceArray<ChildSet> soleChildren = new AtomicReferenceArray<>(16);
+    private volatile long version;
+
+    public static TopologyIndex fromEdges(int[][] edges) {
+        TopologyIndex index = new TopologyIndex();
+        for (int[] edge : edges) {
+            index.addEdge(edge[0], edge[1]);
+        }
+        return index;
+    }
+
+    public synchronized void addEdge(int from, int to) {
+        if (from < 0 || to < 0) {
+            throw new IllegalArgumentException("Device ids must not be negative");
+        }
+        ensureCapacity(Math.max(from, to));
+        multiplicity.increment(key(from, to));
+        int degree = inDegree.get(to);
+        inDegree.set(to, degree + 1);
+        parentXor[to] ^= from;
+        if (degree == 0) {
+            addSoleChild(from, to);
+        } else if (degree == 1) {
+            // The previous sole parent is the XOR of all parents without the new one
+            removeSoleChild(parentXor[to] ^ from, to);
+        }
+        version++;
+    }
+
+    // Returns false if there is no such link
+    public synchronized boolean removeEdge(int from, int to) {
+        if (from < 0 || to < 0 || !multiplicity.decrement(key(from, to))) {
+            return false;
+        }
+        int degree = inDegree.get(to) - 1;
+        inDegree.set(to, degree);
+        parentXor[to] ^= from;
+        if (degree == 0) {
+            removeSoleChild(from, to);
+        } else if (degree == 1) {
+            addSoleChild(parentXor[to], to);
+        }
+        version++;
+        return true;
+    }
+
+    // Devices whose only parent is the given one; O(size of the answer), safe during updates
+    public int[] soleChildren(int parent) {
+        AtomicReferenceArray<ChildSet> sets = soleChildren;
+        if (parent < 0 || parent >= sets.length()) {
+            return NONE;
+        }
+        ChildSet set = sets.get(parent);
+        if (set == null) {
+            return NONE;
+        }
+        long stamp = set.lock.tryOptimisticRead();
+        int[] children = set.copy();
+        if (!set.lock.validate(stamp)) {
+            stamp = set.lock.readLock();
+            try {
+                children = set.copy();
+            } finally {
+                set.lock.unlockRead(stamp);
+            }
+        }
+        return children;
+    }
+
+    public int inDegree(int node) {
+        AtomicIntegerArray degrees = inDegree;
+        return node >= 0 && node < degrees.length() ? degrees.get(node) : 0;
+    }
+
+    // Number of link events applied so far
+    public long version() {
+        return version;
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private void addSoleChild(int parent, int child) {
+        ChildSet set = soleChildren.get(parent);
+        if (set == null) {
+            set = new ChildSet();
+            soleChildren.set(parent, set);
+        }
+        long stamp = set.lock.writeLock();
+        try {
+            if (set.size == set.members.length) {
+                set.members = Arrays.copyOf(set.members, set.size * 2);
+            }
+            slot[child] = set.size;
+            set.members[set.size++] = child;
+        } finally {
+            set.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void removeSoleChild(int parent, int child) {
+        ChildSet set = soleChildren.get(parent);
+        long stamp = set.lock.writeLock();
+        try {
+            int at = slot[child];
+            int last = set.members[--set.size];
+            set.members[at] = last;
+            slot[last] = at;
+            // Give memory back after a hub loses most of its children
+            if (set.members.length > 16 && set.size < set.members.length / 4) {
+                set.members = Arrays.copyOf(set.members, set.members.length / 2);
+            }
+        } finally {
+            set.lock.unlockWrite(stamp);
+        }
+        if (set.size == 0) {
+            soleChildren.set(parent, null);
+        }
+    }
+
+    private void ensureCapacity(int node) {
+        if (node < parentXor.length) {
+            return;
+        }
+        int capacity = Math.max(node + 1, parentXor.length * 2);
+        parentXor = Arrays.copyOf(parentXor, capacity);
+        slot = Arrays.copyOf(slot, capacity);
+        AtomicIntegerArray oldDegrees = inDegree;
+        AtomicIntegerArray degrees = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < oldDegrees.length(); i++) {
+            degrees.set(i, oldDegrees.get(i));
+        }
+        inDegree = degrees;
+        AtomicReferenceArray<ChildSet> old = soleChildren;
+        AtomicReferenceArray<ChildSet> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < old.length(); i++) {
+            grown.set(i, old.get(i));
+        }
+        soleChildren = grown;
+    }
+
+    // Open-addressing long -> int map with linear probing, so link counts are not boxed.
+    // Keys are non-negative (both ids are), which leaves -1 free to mark an empty slot.
+    private static final class LinkCounts {
+        private static final long FREE = -1;
+
+        private long[] keys = newKeys(16);
+        private int[] counts = new int[16];
+        private int size;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, FREE);
+            return keys;
+        }
+
+        private int home(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+        }
+
+        void increment(long key) {
+            int mask = keys.length - 1;
+            int i = home(key);
+            while (keys[i] != FREE) {
+                if (keys[i] == key) {
+                    counts[i]++;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            counts[i] = 1;
+            if (++size * 3 > keys.length * 2) {
+                resize();
+            }
+        }
+
+        // Returns false if the key is absent
+        boolean decrement(long key) {
+            int mask = keys.length - 1;
+            int i = home(key);
+            while (keys[i] != key) {
+                if (keys[i] == FREE) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            if (--counts[i] == 0) {
+                delete(i);
+            }
+            return true;
+        }
+
+        // Backward-shift deletion: pull later entries of the probe run into the hole, no tombstones
+        private void delete(int hole) {
+            int mask = keys.length - 1;
+            int next = (hole + 1) & mask;
+            while (keys[next] != FREE) {
+                int home = home(keys[next]);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    counts[hole] = counts[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = FREE;
+            counts[hole] = 0;
+            size--;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = newKeys(oldKeys.length * 2);
+            counts = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != FREE) {
+                    int i = home(oldKeys[j]);
+                    while (keys[i] != FREE) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    counts[i] = oldCounts[j];
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[][] edges = { { 0, 1 }, { 0, 2 }, { 1, 3 }, { 1, 6 }, { 2, 4 }, { 4, 6 }, { 4, 5 }, { 5, 7 } };
+        TopologyIndex index = fromEdges(edges);
+        System.out.println("Sole children of 4: " + Arrays.toString(index.soleChildren(4))); // Output: [5]
+        index.removeEdge(1, 6);
+        System.out.println("After removing 1->6: " + Arrays.toString(index.soleChildren(4))); // Output: [5, 6]
+
+        // Streaming link changes with concurrent readers
+        int devices = 1_000_000;
+        TopologyIndex live = new TopologyIndex();
+        Random random = new Random(10);
+        for (int i = 0; i < 2_000_000; i++) {
+            live.addEdge(random.nextInt(devices), random.nextInt(devices));
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] reads = new long[2];
+        Thread[] readers = new Thread[reads.length];
+        for (int r = 0; r < readers.length; r++) {
+            int id = r;
+            readers[r] = new Thread(() -> {
+                Random local = new Random(id);
+                while (running.get()) {
+                    live.soleChildren(local.nextInt(devices));
+                    reads[id]++;
+                }
+            });
+            readers[r].start();
+        }
+        int updates = 1_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            int from = random.nextInt(devices), to = random.nextInt(devices);
+            if (!random.nextBoolean() || !live.removeEdge(from, to)) {
+                live.addEdge(from, to);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+        for (Thread reader : readers) reader.join();
+        System.out.printf("%d updates in %.2f s (%.0f/s) with %d concurrent reads%n",
+                updates, seconds, updates / seconds, reads[0] + reads[1]);
+    }
+}
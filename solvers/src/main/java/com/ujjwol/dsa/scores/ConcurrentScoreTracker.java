@@ -0,0 +1,231 @@
+package com.ujjwol.dsa.scores;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Score tracker for many producer threads.
+// Each thread writes into its own shard, so the shard lock is practically never contended. Readers
+// merge all shards into a snapshot and reuse it until it is older than the allowed staleness.
+public class ConcurrentScoreTracker {
+
+    // One thread's scores: a KLL sketch in approximate mode, a plain growable array in exact mode
+    private static final class Shard {
+        final KllSketch sketch;
+        double[] values;
+        int size;
+
+        Shard(int k) {
+            sketch = k > 0 ? new KllSketch(k) : null;
+            values = k > 0 ? null : new double[64];
+        }
+
+        synchronized void add(double score) {
+            if (sketch != null) {
+                sketch.update(score);
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = score;
+        }
+    }
+
+    // Merged view of all shards at one point in time
+    public static final class Snapshot {
+        private final KllSketch sketch;
+        private final double[] sorted;
+        private final long takenAt;
+
+        private Snapshot(KllSketch sketch, double[] sorted, long takenAt) {
+            this.sketch = sketch;
+            this.sorted = sorted;
+            this.takenAt = takenAt;
+        }
+
+        public long count() {
+            return sketch != null ? sketch.count() : sorted.length;
+        }
+
+        public double median() {
+            checkNotEmpty();
+            if (sketch != null) {
+                return sketch.quantile(0.5);
+            }
+            int n = sorted.length;
+            return n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+        }
+
+        // Nearest-rank percentile, e.g. 99.9 for p99.9
+        public double percentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            checkNotEmpty();
+            if (sketch != null) {
+                return sketch.quantile(percentile / 100.0);
+            }
+            int rank = Math.max(1, (int) Math.ceil(percentile / 100.0 * sorted.length));
+            return sorted[rank - 1];
+        }
+
+        private void checkNotEmpty() {
+            if (count() == 0) {
+                throw new IllegalStateException("No scores available");
+            }
+        }
+    }
+
+    private final int k; // Sketch size, 0 in exact mode
+    private final long maxStalenessNanos;
+    private final CopyOnWriteArrayList<Shard> shards = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Shard> localShard = ThreadLocal.withInitial(this::registerShard);
+    private volatile Snapshot cached;
+
+    private ConcurrentScoreTracker(int k, long maxStaleness, TimeUnit unit) {
+        if (maxStaleness < 0) {
+            throw new IllegalArgumentException("Staleness must not be negative");
+        }
+        this.k = k;
+        this.maxStalenessNanos = unit.toNanos(maxStaleness);
+    }
+
+    // Exact median and percentiles; reads may be up to maxStaleness old (0 for always fresh)
+    public static ConcurrentScoreTracker exact(long maxStaleness, TimeUnit unit) {
+        return new ConcurrentScoreTracker(0, maxStaleness, unit);
+    }
+
+    // Fixed memory per thread, within the given normalized rank error
+    public static ConcurrentScoreTracker approximate(double rankError, long maxStaleness, TimeUnit unit) {
+        return new ConcurrentScoreTracker(KllSketch.kForRankError(rankError), maxStaleness, unit);
+    }
+
+    private Shard registerShard() {
+        Shard shard = new Shard(k);
+        shards.add(shard);
+        return shard;
+    }
+
+    public void addScore(double score) {
+        localShard.get().add(score);
+    }
+
+    public double getMedianScore() {
+        return snapshot().median();
+    }
+
+    public double getPercentile(double percentile) {
+        return snapshot().percentile(percentile);
+    }
+
+    // The cached snapshot if it is fresh enough, otherwise a new merge of all shards
+    public Snapshot snapshot() {
+        Snapshot snapshot = cached;
+        long now = System.nanoTime();
+        if (snapshot != null && now - snapshot.takenAt <= maxStalenessNanos) {
+            return snapshot;
+        }
+        snapshot = merge(now);
+        cached = snapshot;
+        return snapshot;
+    }
+
+    private Snapshot merge(long now) {
+        if (k > 0) {
+            KllSketch merged = new KllSketch(k);
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    merged.merge(shard.sketch);
+                }
+            }
+            return new Snapshot(merged, null, now);
+        }
+        double[] all = new double[16];
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                if (size + shard.size > all.length) {
+                    all = Arrays.copyOf(all, Math.max(all.length * 2, size + shard.size));
+                }
+                System.arraycopy(shard.values, 0, all, size, shard.size);
+                size += shard.size;
+            }
+        }
+        all = Arrays.copyOf(all, size);
+        Arrays.parallelSort(all);
+        return new Snapshot(null, all, now);
+    }
+
+    // Multi-producer throughput: sharded tracker against one ScoreTracker behind a global lock
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentScoreTracker example = exact(0, TimeUnit.MILLISECONDS);
+        for (double score : new double[]{85.5, 92.3, 77.8, 90.1, 81.2, 88.7}) {
+            example.addScore(score);
+        }
+        System.out.println("Median: " + example.getMedianScore()); // Output: 87.1
+
+        int perThread = 2_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ConcurrentScoreTracker sharded = approximate(0.01, 50, TimeUnit.MILLISECONDS);
+            double shardedRate = run(threads, perThread, sharded::addScore, sharded::getMedianScore);
+
+            ScoreTracker single = ScoreTracker.approximate(0.01);
+            double lockedRate = run(threads, perThread, score -> {
+                synchronized (single) {
+                    single.addScore(score);
+                }
+            }, () -> {
+                synchronized (single) {
+                    return single.getMedianScore();
+                }
+            });
+
+            System.out.printf("%d producer(s): sharded %.1f M scores/s, global lock %.1f M scores/s, median %.2f%n",
+                    threads, shardedRate / 1e6, lockedRate / 1e6, sharded.getMedianScore());
+        }
+    }
+
+    interface ScoreSink {
+        void add(double score);
+    }
+
+    interface MedianSource {
+        double median();
+    }
+
+    // Producers add perThread scores each while one reader keeps asking for the median
+    private static double run(int threads, int perThread, ScoreSink sink, MedianSource reader)
+            throws InterruptedException {
+        Thread[] producers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            producers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < perThread; i++) {
+                    sink.add(60 + 10 * random.nextGaussian());
+                }
+            });
+        }
+        Thread readerThread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    reader.median();
+                } catch (IllegalStateException e) {
+                    // Nothing added yet
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        readerThread.start();
+        for (Thread producer : producers) producer.start();
+        for (Thread producer : producers) producer.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        readerThread.interrupt();
+        readerThread.join();
+        return (double) threads * perThread / seconds;
+    }
+}
@@ -0,0 +1,195 @@
+package com.ujjwol.dsa.scores;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// KLL quantile sketch over doubles (Karnin, Lang, Liberty 2016).
+// Level h holds items that each stand for 2^h inputs. When the sketch is over capacity the lowest full
+// level is sorted and every other item (random offset) is promoted, halving that level's weight.
+// Level capacities shrink geometrically towards level 0, so memory is O(k) however many scores arrive.
+public class KllSketch {
+    private static final double DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private final Random random;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int[] capacities;
+    private int retained, totalCapacity;
+    private long count;
+    private double min = Double.NaN, max = Double.NaN;
+
+    public KllSketch(int k) {
+        this(k, new Random());
+    }
+
+    KllSketch(int k, Random random) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8");
+        }
+        this.k = k;
+        this.random = random;
+        levels[0] = new double[k];
+        updateCapacities();
+    }
+
+    // Smallest k whose normalized rank error is at most rankError (empirical fit for KLL with decay 2/3)
+    public static int kForRankError(double rankError) {
+        if (rankError <= 0 || rankError >= 1) {
+            throw new IllegalArgumentException("Rank error must be in (0, 1)");
+        }
+        return Math.max(8, (int) Math.ceil(Math.pow(2.296 / rankError, 1 / 0.9723)));
+    }
+
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0 || value < min) min = value;
+        if (count == 0 || value > max) max = value;
+        count++;
+        append(0, value);
+        if (retained > totalCapacity) {
+            compress();
+        }
+    }
+
+    // Fold another sketch into this one; the other sketch is left unchanged
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.length < other.levels.length) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        while (retained > totalCapacity) {
+            compress();
+        }
+    }
+
+    // Approximate q-quantile, q in [0, 1]
+    public double quantile(double q) {
+        if (count == 0) {
+            throw new IllegalStateException("No scores available");
+        }
+        if (q <= 0) return min;
+        if (q >= 1) return max;
+
+        // Sort each level, then merge them by value; an item at level h weighs 2^h
+        double[][] sorted = new double[levels.length][];
+        int[] heads = new int[levels.length];
+        for (int h = 0; h < levels.length; h++) {
+            sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(sorted[h]);
+        }
+
+        long rank = (long) Math.ceil(q * count);
+        long cumulative = 0;
+        while (true) {
+            int next = -1;
+            for (int h = 0; h < sorted.length; h++) {
+                if (heads[h] < sorted[h].length && (next < 0 || sorted[h][heads[h]] < sorted[next][heads[next]])) {
+                    next = h;
+                }
+            }
+            if (next < 0) {
+                return max;
+            }
+            double value = sorted[next][heads[next]++];
+            cumulative += 1L << next;
+            if (cumulative >= rank) {
+                return value;
+            }
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    int k() {
+        return k;
+    }
+
+    public int retained() {
+        return retained;
+    }
+
+    // Rough heap footprint of the retained items
+    public long memoryBytes() {
+        long bytes = 0;
+        for (double[] level : levels) {
+            bytes += 16 + 8L * level.length;
+        }
+        return bytes + 4L * sizes.length;
+    }
+
+    // Capacities depend on the distance from the top level, so they change whenever a level is added
+    private void updateCapacities() {
+        capacities = new int[levels.length];
+        totalCapacity = 0;
+        for (int h = 0; h < levels.length; h++) {
+            int depth = levels.length - 1 - h;
+            capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+            totalCapacity += capacities[h];
+        }
+    }
+
+    private void append(int level, double value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(4, levels[level].length * 2));
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        levels[levels.length - 1] = new double[MIN_CAPACITY];
+        updateCapacities();
+    }
+
+    // Compact the lowest level that is at or over its capacity
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacities[h]) {
+                if (h + 1 == levels.length) {
+                    addLevel();
+                }
+                compact(h);
+                return;
+            }
+        }
+    }
+
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        // An odd item stays behind so the promoted part has an even count
+        int kept = size % 2;
+        int from = kept;
+        Arrays.sort(items, 0, size);
+        if (kept == 1) {
+            // Keep the largest item at this level, compact the rest
+            double last = items[size - 1];
+            System.arraycopy(items, 0, items, 1, size - 1);
+            items[0] = last;
+        }
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = from + offset; i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        retained -= size - kept;
+        sizes[level] = kept;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ujjwol.dsa.scores;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+// Accuracy vs memory of ScoreTracker's approximate mode against exact percentiles on skewed streams.
+// Scores go through ScoreTracker.approximate, so k selection and the tracker's own overhead are measured too.
+public class QuantileSketchBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        double[] percentiles = {50, 90, 95, 99, 99.9};
+        double[] rankErrors = {0.05, 0.02, 0.01, 0.005, 0.002};
+
+        Random random = new Random(17);
+        String[] names = {"lognormal", "pareto(1.5)", "exponential"};
+        DoubleSupplier[] distributions = {
+            () -> Math.exp(1.5 * random.nextGaussian()),
+            () -> Math.pow(1 - random.nextDouble(), -1 / 1.5),
+            () -> -Math.log(1 - random.nextDouble())
+        };
+
+        System.out.println("distribution,target_rank_error,k,retained_items,sketch_bytes,exact_bytes,"
+                + "max_observed_rank_error,ns_per_add,p50,p99,p99.9,exact_p99.9");
+        for (int d = 0; d < distributions.length; d++) {
+            double[] stream = new double[n];
+            for (int i = 0; i < n; i++) {
+                stream[i] = distributions[d].getAsDouble();
+            }
+            double[] sorted = stream.clone();
+            Arrays.sort(sorted);
+
+            for (double rankError : rankErrors) {
+                ScoreTracker tracker = ScoreTracker.approximate(rankError);
+                long start = System.nanoTime();
+                for (double value : stream) {
+                    tracker.addScore(value);
+                }
+                double nsPerAdd = (double) (System.nanoTime() - start) / n;
+
+                // Rank error: how far the estimate's true rank is from the requested one
+                double worst = 0;
+                for (double p : percentiles) {
+                    double estimate = tracker.getPercentile(p);
+                    double trueRank = rankOf(sorted, estimate) / (double) n;
+                    worst = Math.max(worst, Math.abs(trueRank - p / 100));
+                }
+
+                System.out.printf("%s,%.3f,%d,%d,%d,%d,%.5f,%.1f,%.4f,%.4f,%.4f,%.4f%n",
+                        names[d], rankError, tracker.sketch().k(), tracker.sketch().retained(),
+                        tracker.sketch().memoryBytes(), 8L * n, worst, nsPerAdd,
+                        tracker.getMedianScore(), tracker.getPercentile(99), tracker.getPercentile(99.9),
+                        sorted[(int) Math.ceil(0.999 * n) - 1]);
+            }
+        }
+    }
+
+    // Number of values <= value; when the estimate sits in a run of equal values, the run's middle
+    private static long rankOf(double[] sorted, double value) {
+        int lo = lowerBound(sorted, value);
+        int hi = lowerBound(sorted, Math.nextUp(value));
+        return (lo + hi + 1) / 2;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,403 @@
+package com.ujjwol.dsa.scores;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Binary heap of primitive doubles. A max heap stores negated values so both kinds share one code path.
+// When tracking is on, every entry carries an id and position[id] follows it, so any entry can be removed.
+class DoubleHeap {
+    private final boolean max;
+    private final boolean tracking;
+    private double[] keys = new double[16];
+    private int[] ids;
+    private int[] position;
+    private int size;
+
+    DoubleHeap(boolean max, boolean tracking) {
+        this.max = max;
+        this.tracking = tracking;
+        if (tracking) {
+            ids = new int[16];
+            position = new int[16];
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    double peek() {
+        return max ? -keys[0] : keys[0];
+    }
+
+    int peekId() {
+        return ids[0];
+    }
+
+    // Copy the stored values (in heap order) into target starting at offset
+    void copyValues(double[] target, int offset) {
+        for (int i = 0; i < size; i++) {
+            target[offset + i] = max ? -keys[i] : keys[i];
+        }
+    }
+
+    void push(double value, int id) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            if (tracking) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+        keys[size] = max ? -value : value;
+        if (tracking) {
+            if (id >= position.length) {
+                position = Arrays.copyOf(position, Math.max(id + 1, position.length * 2));
+            }
+            ids[size] = id;
+            position[id] = size;
+        }
+        siftUp(size++);
+    }
+
+    double poll() {
+        double top = peek();
+        removeAt(0);
+        return top;
+    }
+
+    // Remove the entry with the given id (tracking heaps only)
+    void remove(int id) {
+        removeAt(position[id]);
+    }
+
+    private void removeAt(int index) {
+        size--;
+        if (index == size) {
+            return;
+        }
+        move(size, index);
+        siftDown(index);
+        siftUp(index);
+    }
+
+    // Renumber ids after the owner compacts its id space: newId = remap[oldId]
+    void remapIds(int[] remap, int idCapacity) {
+        position = new int[idCapacity];
+        for (int i = 0; i < size; i++) {
+            ids[i] = remap[ids[i]];
+            position[ids[i]] = i;
+        }
+    }
+
+    private void siftUp(int index) {
+        double key = keys[index];
+        int id = tracking ? ids[index] : 0;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            move(parent, index);
+            index = parent;
+        }
+        place(index, key, id);
+    }
+
+    private void siftDown(int index) {
+        double key = keys[index];
+        int id = tracking ? ids[index] : 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) break;
+            move(child, index);
+            index = child;
+        }
+        place(index, key, id);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        if (tracking) {
+            ids[to] = ids[from];
+            position[ids[to]] = to;
+        }
+    }
+
+    private void place(int index, double key, int id) {
+        keys[index] = key;
+        if (tracking) {
+            ids[index] = id;
+            position[id] = index;
+        }
+    }
+}
+
+public class ScoreTracker {
+    private DoubleHeap minHeap; // Stores the larger half of scores
+    private DoubleHeap maxHeap; // Stores the smaller half of scores
+
+    // Sliding window state; scores are kept in arrival order in a ring of slots
+    private final int windowSize;        // Keep the last windowSize scores, 0 when unused
+    private final long windowNanos;      // Keep scores younger than this, 0 when unused
+    private final LongSupplier clock;
+    private long[] timestamps;
+    private boolean[] inMinHeap;
+    private int head, count;
+
+    // Approximate mode: a fixed-size quantile sketch replaces the heaps, which are then never allocated
+    private final KllSketch sketch;
+
+    public ScoreTracker() {
+        this(0, 0, System::nanoTime);
+    }
+
+    private ScoreTracker(int windowSize, long windowNanos, LongSupplier clock) {
+        this(windowSize, windowNanos, clock, null);
+    }
+
+    private ScoreTracker(int windowSize, long windowNanos, LongSupplier clock, KllSketch sketch) {
+        this.windowSize = windowSize;
+        this.windowNanos = windowNanos;
+        this.clock = clock;
+        this.sketch = sketch;
+        if (sketch != null) {
+            return;
+        }
+        boolean windowed = windowSize > 0 || windowNanos > 0;
+        minHeap = new DoubleHeap(false, windowed);
+        maxHeap = new DoubleHeap(true, windowed);
+        if (windowed) {
+            int capacity = windowSize > 0 ? windowSize : 16;
+            timestamps = new long[capacity];
+            inMinHeap = new boolean[capacity];
+        }
+    }
+
+    // Median of the last n scores
+    public static ScoreTracker lastScores(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        return new ScoreTracker(n, 0, System::nanoTime);
+    }
+
+    // Median of the scores added during the last duration
+    public static ScoreTracker lastDuration(long duration, TimeUnit unit) {
+        return lastDuration(duration, unit, System::nanoTime);
+    }
+
+    public static ScoreTracker lastDuration(long duration, TimeUnit unit, LongSupplier nanoClock) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Window duration must be positive");
+        }
+        return new ScoreTracker(0, unit.toNanos(duration), nanoClock);
+    }
+
+    // Approximate median and percentiles in fixed memory, within the given normalized rank error
+    public static ScoreTracker approximate(double rankError) {
+        return new ScoreTracker(0, 0, System::nanoTime, new KllSketch(KllSketch.kForRankError(rankError)));
+    }
+
+    // The approximate mode's sketch, null otherwise; for size and accuracy reports
+    KllSketch sketch() {
+        return sketch;
+    }
+
+    public void addScore(double score) {
+        if (sketch != null) {
+            sketch.update(score);
+            return;
+        }
+        int slot = -1;
+        if (timestamps != null) {
+            long now = clock.getAsLong();
+            evictExpired(now);
+            if (windowSize > 0 && count == windowSize) {
+                evictOldest();
+            }
+            slot = allocateSlot(now);
+        }
+
+        if (maxHeap.isEmpty() || score <= maxHeap.peek()) {
+            maxHeap.push(score, slot);
+            setSide(slot, false);
+        } else {
+            minHeap.push(score, slot);
+            setSide(slot, true);
+        }
+
+        rebalance();
+    }
+
+    public double getMedianScore() {
+        if (sketch != null) {
+            return sketch.quantile(0.5);
+        }
+        if (windowNanos > 0) {
+            evictExpired(clock.getAsLong());
+        }
+        if (maxHeap.isEmpty()) {
+            throw new IllegalStateException("No scores available");
+        }
+
+        if (maxHeap.size() == minHeap.size()) {
+            return (maxHeap.peek() + minHeap.peek()) / 2.0;
+        } else {
+            return maxHeap.peek();
+        }
+    }
+
+    // Nearest-rank percentile, e.g. 99.9 for p99.9; exact mode selects from a copy of the heaps in O(n)
+    public double getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (sketch != null) {
+            return sketch.quantile(percentile / 100.0);
+        }
+        if (windowNanos > 0) {
+            evictExpired(clock.getAsLong());
+        }
+        int n = maxHeap.size() + minHeap.size();
+        if (n == 0) {
+            throw new IllegalStateException("No scores available");
+        }
+        int rank = Math.max(1, (int) Math.ceil(percentile / 100.0 * n));
+        // The answer is in the lower half exactly when rank <= its size, so only that heap is searched
+        if (rank <= maxHeap.size()) {
+            double[] lower = new double[maxHeap.size()];
+            maxHeap.copyValues(lower, 0);
+            return select(lower, rank - 1);
+        }
+        double[] upper = new double[minHeap.size()];
+        minHeap.copyValues(upper, 0);
+        return select(upper, rank - 1 - maxHeap.size());
+    }
+
+    // Quickselect: the k-th smallest value (0-based), reorders values
+    private static double select(double[] values, int k) {
+        int lo = 0, hi = values.length - 1;
+        while (lo < hi) {
+            double pivot = values[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    double swap = values[i];
+                    values[i++] = values[j];
+                    values[j--] = swap;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return values[k];
+        }
+        return values[k];
+    }
+
+    // Balance the heaps: maxHeap holds the extra element when the count is odd
+    private void rebalance() {
+        if (maxHeap.size() > minHeap.size() + 1) {
+            moveTop(maxHeap, minHeap, true);
+        } else if (minHeap.size() > maxHeap.size()) {
+            moveTop(minHeap, maxHeap, false);
+        }
+    }
+
+    private void moveTop(DoubleHeap from, DoubleHeap to, boolean toMinHeap) {
+        if (timestamps == null) {
+            to.push(from.poll(), -1);
+            return;
+        }
+        int slot = from.peekId();
+        to.push(from.poll(), slot);
+        inMinHeap[slot] = toMinHeap;
+    }
+
+    private void setSide(int slot, boolean minSide) {
+        if (slot >= 0) {
+            inMinHeap[slot] = minSide;
+        }
+    }
+
+    private void evictExpired(long now) {
+        while (windowNanos > 0 && count > 0 && now - timestamps[head] > windowNanos) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        int slot = head;
+        (inMinHeap[slot] ? minHeap : maxHeap).remove(slot);
+        head = (head + 1) % timestamps.length;
+        count--;
+        // A removal can leave either heap one element short
+        rebalance();
+    }
+
+    private int allocateSlot(long now) {
+        if (count == timestamps.length) {
+            growRing();
+        }
+        int slot = (head + count) % timestamps.length;
+        timestamps[slot] = now;
+        count++;
+        return slot;
+    }
+
+    // Time windows have no fixed size: double the ring and renumber live slots from 0
+    private void growRing() {
+        int capacity = timestamps.length;
+        int[] remap = new int[capacity];
+        long[] newTimestamps = new long[capacity * 2];
+        boolean[] newSides = new boolean[capacity * 2];
+        for (int i = 0; i < count; i++) {
+            int old = (head + i) % capacity;
+            remap[old] = i;
+            newTimestamps[i] = timestamps[old];
+            newSides[i] = inMinHeap[old];
+        }
+        minHeap.remapIds(remap, capacity * 2);
+        maxHeap.remapIds(remap, capacity * 2);
+        timestamps = newTimestamps;
+        inMinHeap = newSides;
+        head = 0;
+    }
+
+    public static void main(String[] args) {
+        ScoreTracker scoreTracker = new ScoreTracker();
+        scoreTracker.addScore(85.5);
+        scoreTracker.addScore(92.3);
+        scoreTracker.addScore(77.8);
+        scoreTracker.addScore(90.1);
+        double median1 = scoreTracker.getMedianScore();
+        System.out.println("Median 1: " + median1); // Output: 87.8
+
+        scoreTracker.addScore(81.2);
+        scoreTracker.addScore(88.7);
+        double median2 = scoreTracker.getMedianScore();
+        System.out.println("Median 2: " + median2); // Output: 87.1
+
+        ScoreTracker lastThree = ScoreTracker.lastScores(3);
+        for (double score : new double[]{85.5, 92.3, 77.8, 90.1, 81.2, 88.7}) {
+            lastThree.addScore(score);
+        }
+        System.out.println("Median of last 3: " + lastThree.getMedianScore()); // Output: 88.7
+
+        ScoreTracker approximate = ScoreTracker.approximate(0.01);
+        java.util.Random random = new java.util.Random(1);
+        for (int i = 0; i < 1_000_000; i++) {
+            approximate.addScore(60 + 10 * random.nextGaussian());
+        }
+        System.out.printf("Approximate p50=%.2f p99=%.2f p99.9=%.2f%n", approximate.getMedianScore(),
+                approximate.getPercentile(99), approximate.getPercentile(99.9));
+    }
+}
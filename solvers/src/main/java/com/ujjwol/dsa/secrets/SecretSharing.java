@@ -0,0 +1,158 @@
+package com.ujjwol.dsa.secrets;
+
+import java.util.*;
+
+public class SecretSharing {
+    // Above this many intervals the sort is split across cores
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    // Recipients as sorted, disjoint, non-adjacent ranges [starts[i], ends[i]]
+    public static class RecipientRanges {
+        private final int[] starts;
+        private final int[] ends;
+        private final int count;
+
+        RecipientRanges(int[] starts, int[] ends, int count) {
+            this.starts = starts;
+            this.ends = ends;
+            this.count = count;
+        }
+
+        public int rangeCount() {
+            return count;
+        }
+
+        public int start(int i) {
+            return starts[i];
+        }
+
+        public int end(int i) {
+            return ends[i];
+        }
+
+        public long recipientCount() {
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += (long) ends[i] - starts[i] + 1;
+            }
+            return total;
+        }
+
+        public boolean contains(int person) {
+            // Last range starting at or before person
+            int lo = 0, hi = count - 1, found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= person) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found >= 0 && person <= ends[found];
+        }
+
+        public BitSet toBitSet() {
+            BitSet bits = new BitSet();
+            for (int i = 0; i < count; i++) {
+                bits.set(starts[i], ends[i] + 1);
+            }
+            return bits;
+        }
+
+        public int[] toArray() {
+            int[] people = new int[Math.toIntExact(recipientCount())];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                for (int person = starts[i]; person <= ends[i]; person++) {
+                    people[size++] = person;
+                }
+            }
+            return people;
+        }
+    }
+
+    // Everyone who learns the secret, in ascending order
+    public static List<Integer> findSecretRecipients(int n, int[][] intervals, int firstPerson) {
+        int[] starts = new int[intervals.length];
+        int[] ends = new int[intervals.length];
+        for (int i = 0; i < intervals.length; i++) {
+            starts[i] = intervals[i][0];
+            ends[i] = intervals[i][1];
+        }
+        int[] people = findSecretRanges(n, starts, ends, firstPerson).toArray();
+        List<Integer> recipients = new ArrayList<>(people.length);
+        for (int person : people) {
+            recipients.add(person);
+        }
+        return recipients;
+    }
+
+    // Sort-and-sweep union of the intervals plus firstPerson, clamped to people 0..n-1.
+    // O(m log m) for m intervals however wide they are.
+    public static RecipientRanges findSecretRanges(int n, int[] starts, int[] ends, int firstPerson) {
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("starts and ends differ in length");
+        }
+        // Clamped intervals packed as start << 32 | end; both are non-negative, so they sort by start
+        long[] packed = new long[starts.length + 1];
+        int m = 0;
+        for (int i = 0; i < starts.length; i++) {
+            int start = Math.max(starts[i], 0);
+            int end = Math.min(ends[i], n - 1);
+            if (start <= end) {
+                packed[m++] = ((long) start << 32) | end;
+            }
+        }
+        if (firstPerson >= 0 && firstPerson < n) {
+            packed[m++] = ((long) firstPerson << 32) | firstPerson;
+        }
+        if (m >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(packed, 0, m);
+        } else {
+            Arrays.sort(packed, 0, m);
+        }
+
+        // Merge overlapping or touching intervals
+        int[] mergedStarts = new int[m];
+        int[] mergedEnds = new int[m];
+        int count = 0;
+        for (int i = 0; i < m; i++) {
+            int start = (int) (packed[i] >>> 32);
+            int end = (int) packed[i];
+            if (count > 0 && start <= mergedEnds[count - 1] + 1L) {
+                mergedEnds[count - 1] = Math.max(mergedEnds[count - 1], end);
+            } else {
+                mergedStarts[count] = start;
+                mergedEnds[count] = end;
+                count++;
+            }
+        }
+        return new RecipientRanges(mergedStarts, mergedEnds, count);
+    }
+
+    public static void main(String[] args) {
+        int n = 5;
+        int[][] intervals = {{0, 2}, {1, 3}, {2, 4}};
+        int firstPerson = 0;
+        
+        List<Integer> recipients = findSecretRecipients(n, intervals, firstPerson);
+        System.out.println(recipients); // Output: [0, 1, 2, 3, 4]
+
+        // A billion people and a million wide intervals, kept as ranges
+        int people = 1_000_000_000;
+        int m = 1_000_000;
+        Random random = new Random(6);
+        int[] starts = new int[m];
+        int[] ends = new int[m];
+        for (int i = 0; i < m; i++) {
+            starts[i] = random.nextInt(people);
+            ends[i] = starts[i] + random.nextInt(500);
+        }
+        long start = System.nanoTime();
+        RecipientRanges ranges = findSecretRanges(people, starts, ends, 0);
+        System.out.printf("%d intervals -> %d ranges, %d recipients in %.3f s%n", m, ranges.rangeCount(),
+                ranges.recipientCount(), (System.nanoTime() - start) / 1e9);
+    }
+}
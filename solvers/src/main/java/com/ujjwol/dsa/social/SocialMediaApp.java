@@ -1,3 +1,5 @@
+package com.ujjwol.dsa.social;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -0,0 +1,131 @@
+package com.ujjwol.dsa.tsp;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reproducible benchmark runner for AntColonyOptimization on TSPLIB files or generated instances.
+// Usage: java ACOBenchmark [file.tsp | gen:<cities>] ... [--iterations N] [--ants N] [--seed S] [--target-gap PCT]
+public class ACOBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        List<String> inputs = new ArrayList<>();
+        int iterations = 100;
+        int numAnts = 20;
+        long seed = 42;
+        double targetGap = 5.0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iterations": iterations = Integer.parseInt(args[++i]); break;
+                case "--ants": numAnts = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--target-gap": targetGap = Double.parseDouble(args[++i]); break;
+                default: inputs.add(args[i]); break;
+            }
+        }
+        if (inputs.isEmpty()) {
+            inputs.add("gen:100");
+            inputs.add("gen:200");
+            inputs.add("gen:500");
+        }
+
+        System.out.println("instance,cities,reference,best,gap_pct,time_ms,iterations_per_sec,time_to_target_ms,peak_heap_mb");
+        for (String input : inputs) {
+            TSPInstance instance = input.startsWith("gen:")
+                    ? TSPLibLoader.generate(Integer.parseInt(input.substring(4)), seed)
+                    : TSPLibLoader.load(input);
+            run(instance, iterations, numAnts, seed, targetGap);
+        }
+    }
+
+    private static void run(TSPInstance instance, int iterations, int numAnts, long seed, double targetGap) {
+        int n = instance.dimension;
+
+        // The solver keeps three dense n x n matrices (distances, pheromones, heuristics)
+        long requiredBytes = 3L * n * n * Double.BYTES;
+        if (requiredBytes > Runtime.getRuntime().maxMemory() / 2) {
+            System.out.println(instance.name + "," + n + ",,,,,,,skipped: needs ~" + (requiredBytes >> 20) + " MB of matrices");
+            return;
+        }
+
+        // Gap is measured against the published optimum, or a nearest-neighbour tour for generated instances
+        long reference = TSPLibLoader.knownOptimum(instance.name);
+        if (reference < 0) {
+            reference = nearestNeighbourLength(instance);
+        }
+        double targetLength = reference * (1 + targetGap / 100.0);
+
+        double[][] distances = instance.toDistanceMatrix();
+        AntColonyOptimization aco = new AntColonyOptimization(n, distances, numAnts, 1.0, 2.0, 0.1, 1.0, iterations);
+        aco.setSeed(seed);
+
+        // Reset first: it forces a GC, which must not count towards the timed run
+        resetPeakUsage();
+        long start = System.nanoTime();
+        long[] timeToTarget = {-1};
+        aco.setIterationListener((iteration, bestTourLength) -> {
+            if (timeToTarget[0] < 0 && bestTourLength <= targetLength) {
+                timeToTarget[0] = System.nanoTime() - start;
+            }
+        });
+
+        int[] bestTour = aco.solveTSP();
+        long elapsed = System.nanoTime() - start;
+
+        double best = aco.calculateTourLength(bestTour);
+        double gap = (best - reference) * 100.0 / reference;
+        double iterationsPerSecond = iterations / (elapsed / 1e9);
+
+        System.out.printf("%s,%d,%d,%.0f,%.2f,%.1f,%.1f,%s,%.1f%n",
+                instance.name, n, reference, best, gap, elapsed / 1e6, iterationsPerSecond,
+                timeToTarget[0] < 0 ? "" : String.format("%.1f", timeToTarget[0] / 1e6),
+                peakHeapUsage() / (1024.0 * 1024.0));
+    }
+
+    private static long nearestNeighbourLength(TSPInstance instance) {
+        int n = instance.dimension;
+        boolean[] visited = new boolean[n];
+        int current = 0;
+        visited[0] = true;
+        long length = 0;
+        for (int step = 1; step < n; step++) {
+            int next = -1;
+            int nextDistance = Integer.MAX_VALUE;
+            for (int city = 0; city < n; city++) {
+                if (!visited[city]) {
+                    int d = instance.distance(current, city);
+                    if (d < nextDistance) {
+                        nextDistance = d;
+                        next = city;
+                    }
+                }
+            }
+            visited[next] = true;
+            length += nextDistance;
+            current = next;
+        }
+        return length + instance.distance(current, 0);
+    }
+
+    private static void resetPeakUsage() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
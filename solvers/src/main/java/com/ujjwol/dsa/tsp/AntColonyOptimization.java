@@ -1,3 +1,10 @@
+package com.ujjwol.dsa.tsp;
+
+import com.ujjwol.dsa.metrics.Counter;
+import com.ujjwol.dsa.metrics.Histogram;
+import com.ujjwol.dsa.metrics.MetricsRegistry;
+import com.ujjwol.dsa.metrics.SolverEvents;
+
 import java.util.Random;
 import java.util.Arrays;
 
@@ -17,6 +24,22 @@ public class AntColonyOptimization {
     private double depositRate;
     private int maxIterations;
 
+    // Random source shared by tour construction, seedable for reproducible runs
+    private Random random = new Random();
+    private IterationListener iterationListener;
+
+    // Per-iteration phase times, recorded only when instrumentation is enabled
+    private static final Counter ITERATIONS = MetricsRegistry.counter("aco.iterations");
+    private static final Counter SELECTIONS = MetricsRegistry.counter("aco.selectNextCity.calls");
+    private static final Histogram SELECT_NANOS = MetricsRegistry.histogram("aco.selectNextCity.nanosPerIteration");
+    private static final Histogram UPDATE_NANOS = MetricsRegistry.histogram("aco.updatePheromones.nanos");
+    private static final Histogram EVAPORATE_NANOS = MetricsRegistry.histogram("aco.evaporatePheromones.nanos");
+
+    // Callback invoked after every iteration with the best tour length so far
+    public interface IterationListener {
+        void onIteration(int iteration, double bestTourLength);
+    }
+
     public AntColonyOptimization(int numCities, double[][] distances, int numAnts, double alpha, double beta,
                                  double evaporationRate, double depositRate, int maxIterations) {
         this.numCities = numCities;
@@ -39,13 +62,26 @@ public class AntColonyOptimization {
         }
     }
 
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public void setIterationListener(IterationListener iterationListener) {
+        this.iterationListener = iterationListener;
+    }
+
     public int[] solveTSP() {
         int[] bestTour = new int[numCities];
         double bestTourLength = Double.MAX_VALUE;
 
-        Random random = new Random();
-
         for (int iteration = 0; iteration < maxIterations; iteration++) {
+            SolverEvents.AcoIteration event = null;
+            long selectNanos = 0;
+            if (MetricsRegistry.ENABLED) {
+                event = new SolverEvents.AcoIteration();
+                event.begin();
+            }
+
             // Initialize ant solutions
             int[][] antSolutions = new int[numAnts][numCities];
             double[] antTourLengths = new double[numAnts];
@@ -60,7 +96,11 @@ public class AntColonyOptimization {
                 // Construct the tour
                 for (int step = 1; step < numCities; step++) {
                     int currentCity = tour[step - 1];
+                    long before = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
                     int nextCity = selectNextCity(currentCity, visited);
+                    if (MetricsRegistry.ENABLED) {
+                        selectNanos += System.nanoTime() - before;
+                    }
                     tour[step] = nextCity;
                     visited[nextCity] = true;
                 }
@@ -70,7 +110,9 @@ public class AntColonyOptimization {
             }
 
             // Update pheromones
+            long updateStart = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
             updatePheromones(antSolutions, antTourLengths);
+            long updateNanos = MetricsRegistry.ENABLED ? System.nanoTime() - updateStart : 0;
 
             // Update best solution found so far
             for (int ant = 0; ant < numAnts; ant++) {
@@ -81,7 +123,27 @@ public class AntColonyOptimization {
             }
 
             // Evaporate pheromones
+            long evaporateStart = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
             evaporatePheromones();
+
+            if (MetricsRegistry.ENABLED) {
+                long evaporateNanos = System.nanoTime() - evaporateStart;
+                ITERATIONS.increment();
+                SELECTIONS.add((long) numAnts * (numCities - 1));
+                SELECT_NANOS.record(selectNanos);
+                UPDATE_NANOS.record(updateNanos);
+                EVAPORATE_NANOS.record(evaporateNanos);
+                event.iteration = iteration;
+                event.bestTourLength = bestTourLength;
+                event.selectNanos = selectNanos;
+                event.updateNanos = updateNanos;
+                event.evaporateNanos = evaporateNanos;
+                event.commit();
+            }
+
+            if (iterationListener != null) {
+                iterationListener.onIteration(iteration, bestTourLength);
+            }
         }
 
         return bestTour;
@@ -102,7 +164,7 @@ public class AntColonyOptimization {
         }
 
         // Select next city based on probabilities
-        double randomValue = Math.random() * totalProbability;
+        double randomValue = random.nextDouble() * totalProbability;
         double cumulativeProbability = 0.0;
         for (int city = 0; city < numCities; city++) {
             if (!visited[city]) {
@@ -117,7 +179,7 @@ public class AntColonyOptimization {
         return -1;
     }
 
-    private double calculateTourLength(int[] tour) {
+    public double calculateTourLength(int[] tour) {
         double tourLength = 0;
         for (int i = 0; i < numCities - 1; i++) {
             tourLength += distances[tour[i]][tour[i + 1]];
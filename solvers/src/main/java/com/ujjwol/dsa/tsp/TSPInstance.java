@@ -0,0 +1,84 @@
+package com.ujjwol.dsa.tsp;
+
+// Class to represent a loaded TSP instance (coordinates or an explicit matrix).
+// Filled in by TSPLibLoader; callers outside the package only read it.
+public class TSPInstance {
+    String name;
+    int dimension;
+    String edgeWeightType;
+    double[] x, y;          // Node coordinates (EUC_2D, ATT, GEO)
+    int[][] explicitMatrix; // Full matrix (EXPLICIT)
+
+    TSPInstance() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public String getEdgeWeightType() {
+        return edgeWeightType;
+    }
+
+    // Distance between two cities using the TSPLIB rounding rules
+    public int distance(int i, int j) {
+        switch (edgeWeightType) {
+            case "EXPLICIT":
+                return explicitMatrix[i][j];
+            case "EUC_2D": {
+                double dx = x[i] - x[j];
+                double dy = y[i] - y[j];
+                return (int) (Math.sqrt(dx * dx + dy * dy) + 0.5);
+            }
+            case "CEIL_2D": {
+                double dx = x[i] - x[j];
+                double dy = y[i] - y[j];
+                return (int) Math.ceil(Math.sqrt(dx * dx + dy * dy));
+            }
+            case "ATT": {
+                double dx = x[i] - x[j];
+                double dy = y[i] - y[j];
+                double r = Math.sqrt((dx * dx + dy * dy) / 10.0);
+                int t = (int) (r + 0.5);
+                return t < r ? t + 1 : t;
+            }
+            case "GEO":
+                return geoDistance(i, j);
+            default:
+                throw new IllegalStateException("Unsupported EDGE_WEIGHT_TYPE: " + edgeWeightType);
+        }
+    }
+
+    private int geoDistance(int i, int j) {
+        double latI = toRadians(x[i]), lonI = toRadians(y[i]);
+        double latJ = toRadians(x[j]), lonJ = toRadians(y[j]);
+        double q1 = Math.cos(lonI - lonJ);
+        double q2 = Math.cos(latI - latJ);
+        double q3 = Math.cos(latI + latJ);
+        return (int) (6378.388 * Math.acos(0.5 * ((1.0 + q1) * q2 - (1.0 - q1) * q3)) + 1.0);
+    }
+
+    // TSPLIB GEO coordinates are DDD.MM (degrees and minutes)
+    private static double toRadians(double coordinate) {
+        int degrees = (int) coordinate;
+        double minutes = coordinate - degrees;
+        return 3.141592 * (degrees + 5.0 * minutes / 3.0) / 180.0;
+    }
+
+    // Build the dense matrix expected by AntColonyOptimization
+    public double[][] toDistanceMatrix() {
+        double[][] distances = new double[dimension][dimension];
+        for (int i = 0; i < dimension; i++) {
+            for (int j = i + 1; j < dimension; j++) {
+                double d = distance(i, j);
+                distances[i][j] = d;
+                distances[j][i] = d;
+            }
+        }
+        return distances;
+    }
+}
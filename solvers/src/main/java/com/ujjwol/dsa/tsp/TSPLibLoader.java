@@ -0,0 +1,360 @@
+package com.ujjwol.dsa.tsp;
+
+import com.ujjwol.dsa.io.DsaFile;
+import com.ujjwol.dsa.io.DsaWriter;
+
+import java.io.*;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class TSPLibLoader {
+
+    // Known optimal tour lengths for common TSPLIB instances
+    private static final String[][] KNOWN_OPTIMA = {
+        {"ulysses16", "6859"}, {"att48", "10628"}, {"eil51", "426"}, {"berlin52", "7542"},
+        {"st70", "675"}, {"eil76", "538"}, {"kroA100", "21282"}, {"ch150", "6528"},
+        {"a280", "2579"}, {"pcb442", "50778"}, {"pr1002", "259045"}
+    };
+
+    public static long knownOptimum(String name) {
+        for (String[] entry : KNOWN_OPTIMA) {
+            if (entry[0].equals(name)) {
+                return Long.parseLong(entry[1]);
+            }
+        }
+        return -1;
+    }
+
+    public static TSPInstance load(String path) throws IOException {
+        try (InputStream in = new FileInputStream(path)) {
+            return parse(in);
+        }
+    }
+
+    // Streaming parser: the header is read line by line, the data sections token by token
+    public static TSPInstance parse(InputStream in) throws IOException {
+        Tokenizer tokens = new Tokenizer(in);
+        TSPInstance instance = new TSPInstance();
+        instance.edgeWeightType = "EUC_2D";
+        String edgeWeightFormat = "FULL_MATRIX";
+
+        String line;
+        while ((line = tokens.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.equals("EOF")) {
+                break;
+            }
+
+            int colon = line.indexOf(':');
+            String key = (colon >= 0 ? line.substring(0, colon) : line).trim();
+            String value = colon >= 0 ? line.substring(colon + 1).trim() : "";
+
+            switch (key) {
+                case "NAME":
+                    instance.name = value;
+                    break;
+                case "TYPE":
+                    if (!value.startsWith("TSP")) {
+                        throw new IOException("Unsupported problem type: " + value);
+                    }
+                    break;
+                case "DIMENSION":
+                    instance.dimension = Integer.parseInt(value);
+                    break;
+                case "EDGE_WEIGHT_TYPE":
+                    instance.edgeWeightType = value;
+                    break;
+                case "EDGE_WEIGHT_FORMAT":
+                    edgeWeightFormat = value;
+                    break;
+                case "NODE_COORD_SECTION":
+                    readCoordinates(tokens, instance);
+                    break;
+                case "EDGE_WEIGHT_SECTION":
+                    readExplicitMatrix(tokens, instance, edgeWeightFormat);
+                    break;
+                case "DISPLAY_DATA_SECTION":
+                    // Display coordinates are not needed for distances, skip them
+                    for (int i = 0; i < instance.dimension * 3; i++) {
+                        tokens.nextDouble();
+                    }
+                    break;
+                default:
+                    // COMMENT, DISPLAY_DATA_TYPE and other keywords are ignored
+                    break;
+            }
+        }
+
+        if (instance.dimension <= 0) {
+            throw new IOException("Missing DIMENSION");
+        }
+        if (instance.edgeWeightType.equals("EXPLICIT") ? instance.explicitMatrix == null : instance.x == null) {
+            throw new IOException("Missing data section for " + instance.edgeWeightType);
+        }
+        return instance;
+    }
+
+    private static void readCoordinates(Tokenizer tokens, TSPInstance instance) throws IOException {
+        int n = instance.dimension;
+        instance.x = new double[n];
+        instance.y = new double[n];
+        for (int i = 0; i < n; i++) {
+            int node = (int) tokens.nextDouble() - 1; // Nodes are numbered from 1
+            instance.x[node] = tokens.nextDouble();
+            instance.y[node] = tokens.nextDouble();
+        }
+    }
+
+    private static void readExplicitMatrix(Tokenizer tokens, TSPInstance instance, String format) throws IOException {
+        int n = instance.dimension;
+        int[][] matrix = new int[n][n];
+
+        // Column-wise formats are the transposes of the row-wise ones, which is the same for symmetric TSP
+        switch (format) {
+            case "UPPER_COL": format = "LOWER_ROW"; break;
+            case "LOWER_COL": format = "UPPER_ROW"; break;
+            case "UPPER_DIAG_COL": format = "LOWER_DIAG_ROW"; break;
+            case "LOWER_DIAG_COL": format = "UPPER_DIAG_ROW"; break;
+            default: break;
+        }
+
+        for (int i = 0; i < n; i++) {
+            int from, to;
+            switch (format) {
+                case "FULL_MATRIX": from = 0; to = n - 1; break;
+                case "UPPER_ROW": from = i + 1; to = n - 1; break;
+                case "UPPER_DIAG_ROW": from = i; to = n - 1; break;
+                case "LOWER_ROW": from = 0; to = i - 1; break;
+                case "LOWER_DIAG_ROW": from = 0; to = i; break;
+                default: throw new IOException("Unsupported EDGE_WEIGHT_FORMAT: " + format);
+            }
+            for (int j = from; j <= to; j++) {
+                int d = (int) tokens.nextDouble();
+                matrix[i][j] = d;
+                if (!format.equals("FULL_MATRIX")) {
+                    matrix[j][i] = d;
+                }
+            }
+        }
+        instance.explicitMatrix = matrix;
+    }
+
+    // Uniform random EUC_2D instance, reproducible from the seed
+    public static TSPInstance generate(int numCities, long seed) {
+        Random random = new Random(seed);
+        TSPInstance instance = new TSPInstance();
+        instance.name = "rand" + numCities + "_" + seed;
+        instance.dimension = numCities;
+        instance.edgeWeightType = "EUC_2D";
+        instance.x = new double[numCities];
+        instance.y = new double[numCities];
+        // Scale the square with the city count so the average neighbour distance stays comparable
+        double side = Math.sqrt(numCities) * 100;
+        for (int i = 0; i < numCities; i++) {
+            instance.x[i] = Math.floor(random.nextDouble() * side);
+            instance.y[i] = Math.floor(random.nextDouble() * side);
+        }
+        return instance;
+    }
+
+    public static void write(TSPInstance instance, String path) throws IOException {
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(path), 1 << 16))) {
+            out.println("NAME : " + instance.name);
+            out.println("TYPE : TSP");
+            out.println("DIMENSION : " + instance.dimension);
+            out.println("EDGE_WEIGHT_TYPE : " + instance.edgeWeightType);
+            out.println("NODE_COORD_SECTION");
+            for (int i = 0; i < instance.dimension; i++) {
+                out.println((i + 1) + " " + (long) instance.x[i] + " " + (long) instance.y[i]);
+            }
+            out.println("EOF");
+        }
+    }
+
+    private static final String[] METRICS = {null, "EUC_2D", "CEIL_2D", "ATT", "GEO"};
+
+    // Coordinate instances become DSAB points; EXPLICIT ones a complete weighted graph over pairs i < j
+    public static void toBinary(TSPInstance instance, Path out) throws IOException {
+        int n = instance.dimension;
+        if (instance.edgeWeightType.equals("EXPLICIT")) {
+            long pairs = (long) n * (n - 1) / 2;
+            try (DsaWriter writer = new DsaWriter(out, DsaFile.EDGES | DsaFile.WEIGHTS, n, pairs, 0, 0,
+                    DsaFile.METRIC_NONE)) {
+                DsaWriter.Section from = writer.from(), to = writer.to(), weight = writer.weights();
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        from.putInt(i);
+                        to.putInt(j);
+                        weight.putInt(instance.explicitMatrix[i][j]);
+                    }
+                }
+            }
+            return;
+        }
+        int metric = Arrays.asList(METRICS).indexOf(instance.edgeWeightType);
+        if (metric < 0) {
+            throw new IOException("Unsupported EDGE_WEIGHT_TYPE: " + instance.edgeWeightType);
+        }
+        DsaWriter.writePoints(out, n, metric, i -> instance.x[(int) i], i -> instance.y[(int) i]);
+    }
+
+    public static TSPInstance loadBinary(Path path) throws IOException {
+        return fromBinary(DsaFile.open(path), path.getFileName().toString());
+    }
+
+    static TSPInstance fromBinary(DsaFile file, String name) throws IOException {
+        TSPInstance instance = new TSPInstance();
+        instance.name = name;
+        if (file.vertexCount() > Integer.MAX_VALUE) {
+            throw new IOException("Too many cities (" + file.vertexCount() + "): " + name);
+        }
+        instance.dimension = (int) file.vertexCount();
+        int n = instance.dimension;
+        if (file.has(DsaFile.COORDINATES)) {
+            if (file.metric() <= DsaFile.METRIC_NONE || file.metric() >= METRICS.length) {
+                throw new IOException("Unknown coordinate metric " + file.metric() + ": " + name);
+            }
+            instance.edgeWeightType = METRICS[file.metric()];
+            instance.x = new double[n];
+            instance.y = new double[n];
+            file.x().get(instance.x);
+            file.y().get(instance.y);
+        } else if (file.has(DsaFile.WEIGHTS)) {
+            // Only a complete graph fills the matrix; checked before the n x n allocation, which the
+            // n(n-1)/2 edges in the file then pay for
+            long pairs = (long) n * (n - 1) / 2;
+            if (file.edgeCount() != pairs) {
+                throw new IOException("EXPLICIT instance with " + n + " cities needs " + pairs + " edges, file has "
+                        + file.edgeCount() + ": " + name);
+            }
+            // With the count right, no repeated pair means every pair is there; a missing pair would stay 0
+            IntBuffer from = file.from(), to = file.to(), weight = file.weights();
+            long[] seen = new long[(int) ((long) n * n + 63 >>> 6)];
+            for (int e = 0; e < from.limit(); e++) {
+                int i = from.get(e), j = to.get(e);
+                if (i < 0 || i >= n || j < 0 || j >= n || i == j) {
+                    throw new IOException("Edge " + e + " (" + i + ", " + j + ") is not a pair of distinct cities below "
+                            + n + ": " + name);
+                }
+                long pair = (long) Math.min(i, j) * n + Math.max(i, j);
+                if ((seen[(int) (pair >>> 6)] & 1L << pair) != 0) {
+                    throw new IOException("Edge " + e + " repeats the pair (" + i + ", " + j + "): " + name);
+                }
+                seen[(int) (pair >>> 6)] |= 1L << pair;
+            }
+            instance.edgeWeightType = "EXPLICIT";
+            instance.explicitMatrix = new int[n][n];
+            for (int e = 0; e < from.limit(); e++) {
+                int i = from.get(e), j = to.get(e);
+                instance.explicitMatrix[i][j] = weight.get(e);
+                instance.explicitMatrix[j][i] = weight.get(e);
+            }
+        } else {
+            throw new IOException("File has neither coordinates nor weights: " + name);
+        }
+        return instance;
+    }
+
+    // Dense distance matrix of a DSAB points file or complete weighted graph, as AntColonyOptimization takes it
+    public static double[][] distanceMatrix(DsaFile file) throws IOException {
+        return fromBinary(file, "buffer").toDistanceMatrix();
+    }
+
+    // Minimal byte-level reader: avoids String allocation for every number in the data sections
+    private static class Tokenizer {
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int length, position;
+
+        Tokenizer(InputStream in) {
+            this.in = in;
+        }
+
+        private int read() throws IOException {
+            if (position == length) {
+                length = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (length <= 0) {
+                    length = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        String readLine() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            StringBuilder sb = new StringBuilder();
+            while (c != -1 && c != '\n') {
+                if (c != '\r') {
+                    sb.append((char) c);
+                }
+                c = read();
+            }
+            return sb.toString();
+        }
+
+        double nextDouble() throws IOException {
+            int c = read();
+            while (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                c = read();
+            }
+            if (c == -1) {
+                throw new EOFException("Unexpected end of data section");
+            }
+
+            boolean negative = false;
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                c = read();
+            }
+
+            long mantissa = 0;
+            int scale = 0;
+            boolean fraction = false;
+            while ((c >= '0' && c <= '9') || c == '.') {
+                if (c == '.') {
+                    fraction = true;
+                } else {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (fraction) {
+                        scale++;
+                    }
+                }
+                c = read();
+            }
+
+            double value = mantissa;
+            if (c == 'e' || c == 'E') {
+                // Rare in TSPLIB files, fall back to the slow path for the exponent
+                StringBuilder exponent = new StringBuilder();
+                c = read();
+                while (c == '-' || c == '+' || (c >= '0' && c <= '9')) {
+                    exponent.append((char) c);
+                    c = read();
+                }
+                scale -= Integer.parseInt(exponent.toString());
+            }
+            if (scale != 0) {
+                value = scale > 0 ? value / Math.pow(10, scale) : value * Math.pow(10, -scale);
+            }
+            return negative ? -value : value;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String example = "NAME : example5\nTYPE : TSP\nDIMENSION : 5\nEDGE_WEIGHT_TYPE : EXPLICIT\n"
+                + "EDGE_WEIGHT_FORMAT : UPPER_ROW\nEDGE_WEIGHT_SECTION\n10 15 20 25\n35 25 30\n30 10\n35\nEOF\n";
+        TSPInstance instance = parse(new ByteArrayInputStream(example.getBytes(StandardCharsets.US_ASCII)));
+        System.out.println(instance.name + ": " + instance.dimension + " cities, d(2,4) = " + instance.distance(2, 4)); // Output: 10
+    }
+}